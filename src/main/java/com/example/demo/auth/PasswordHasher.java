@@ -0,0 +1,192 @@
+package com.example.demo.auth;
+
+import com.example.demo.util.LogHistogram;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Tuzlu PBKDF2-HMAC-SHA256 şifre hash'i. Hash işlemi CPU yoğun olduğu için istek thread'lerinde değil,
+// sabit boyutlu ve sınırlı kuyruklu ayrı bir havuzda çalışır; kuyruk doluysa iş beklemeden reddedilir
+// (OverloadedException -> 503). Böylece bir login patlaması CRUD uç noktalarını aç bırakmaz.
+// Saklanan biçim: pbkdf2-sha256$<iterasyon>$<salt base64>$<hash base64>. Bu önekle başlamayan
+// değerler eski düz metin şifrelerdir.
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    public static class OverloadedException extends RuntimeException {
+        public OverloadedException() {
+            super("Password hashing capacity exhausted, retry later");
+        }
+    }
+
+    private static final String PREFIX = "pbkdf2-sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+    private final int threads;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+
+    private final LogHistogram hashMicros = new LogHistogram();
+    private final LogHistogram queueWaitMicros = new LogHistogram();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong upgraded = new AtomicLong();
+
+    public PasswordHasher(@Value("${demo.auth.password.iterations:210000}") int iterations,
+                          @Value("${demo.auth.password.threads:0}") int threads,
+                          @Value("${demo.auth.password.queue-capacity:16}") int queueCapacity) {
+        this.iterations = iterations;
+        this.threads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.queueCapacity = queueCapacity;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hasher-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String hash(String raw) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = run(() -> pbkdf2(raw, salt, iterations));
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(hash);
+    }
+
+    public boolean matches(String raw, String stored) {
+        if (raw == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return false;
+        }
+        int storedIterations;
+        try {
+            storedIterations = Integer.parseInt(parts[0]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        Base64.Decoder b64 = Base64.getDecoder();
+        byte[] salt = b64.decode(parts[1]);
+        byte[] expected = b64.decode(parts[2]);
+        byte[] actual = run(() -> pbkdf2(raw, salt, storedIterations));
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    // Düz metin veya farklı maliyetle hash'lenmiş değerler başarılı login sonrası yeniden hash'lenir
+    public boolean needsRehash(String stored) {
+        return !isHashed(stored) || !stored.startsWith(PREFIX + iterations + "$");
+    }
+
+    public void recordUpgrade() {
+        upgraded.incrementAndGet();
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("algorithm", ALGORITHM);
+        resp.put("iterations", iterations);
+        resp.put("threads", threads);
+        resp.put("queueCapacity", queueCapacity);
+        resp.put("active", executor.getActiveCount());
+        resp.put("queued", executor.getQueue().size());
+        resp.put("completed", executor.getCompletedTaskCount());
+        resp.put("rejected", rejected.get());
+        resp.put("upgradedLegacyPasswords", upgraded.get());
+        resp.put("hash", histogram(hashMicros));
+        resp.put("queueWait", histogram(queueWaitMicros));
+        return resp;
+    }
+
+    private static Map<String, Object> histogram(LogHistogram h) {
+        long count = h.count();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("count", count);
+        row.put("avgMicros", count == 0 ? 0 : h.totalMicros() / count);
+        row.put("p50Micros", h.percentile(50));
+        row.put("p95Micros", h.percentile(95));
+        row.put("p99Micros", h.percentile(99));
+        row.put("maxMicros", h.maxMicros());
+        return row;
+    }
+
+    @FunctionalInterface
+    private interface HashTask {
+        byte[] compute() throws GeneralSecurityException;
+    }
+
+    private byte[] run(HashTask task) {
+        long submitted = System.nanoTime();
+        Future<byte[]> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                queueWaitMicros.record((start - submitted) / 1000);
+                try {
+                    return task.compute();
+                } finally {
+                    hashMicros.record((System.nanoTime() - start) / 1000);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new OverloadedException();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static byte[] pbkdf2(String raw, byte[] salt, int iterations) throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec(raw.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
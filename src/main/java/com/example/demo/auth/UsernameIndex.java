@@ -0,0 +1,87 @@
+package com.example.demo.auth;
+
+import com.example.demo.repository.AppUserRepository;
+import com.example.demo.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Kullanıcı adları üzerinde Bloom filter. "Kesinlikle yok" cevabı existsByUsername sorgusunu atlatır;
+// doğruluk users.username üzerindeki unique constraint'ten gelir.
+@Component
+public class UsernameIndex {
+
+    private final AppUserRepository userRepo;
+    private final TransactionTemplate tx;
+    private final long expectedUsers;
+    private final double fpp;
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Yeniden oluşturma sırasında eklenen isimler yeni filtreye de yazılır
+    private final Set<String> addedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public UsernameIndex(AppUserRepository userRepo,
+                         TransactionTemplate tx,
+                         @Value("${demo.auth.username-filter.expected-users:100000}") long expectedUsers,
+                         @Value("${demo.auth.username-filter.fpp:0.01}") double fpp) {
+        this.userRepo = userRepo;
+        this.tx = tx;
+        this.expectedUsers = expectedUsers;
+        this.fpp = fpp;
+        this.filter = new BloomFilter(expectedUsers, fpp);
+    }
+
+    // WarmupRunner (LOWEST_PRECEDENCE) başlamadan önce kurulmuş olmalı
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            addedDuringRebuild.clear();
+            long count = userRepo.count();
+            BloomFilter next = new BloomFilter(Math.max(expectedUsers, count * 2), fpp);
+            tx.executeWithoutResult(status -> {
+                try (Stream<String> usernames = userRepo.streamAllUsernames()) {
+                    usernames.forEach(next::put);
+                }
+            });
+            filter = next;
+            size.set(count);
+            addedDuringRebuild.forEach(next::put);
+            ready = true;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // false: kullanıcı adı kesinlikle kayıtlı değil
+    public boolean mightExist(String username) {
+        return !ready || filter.mightContain(username);
+    }
+
+    public void add(String username) {
+        if (rebuilding.get()) {
+            addedDuringRebuild.add(username);
+        }
+        BloomFilter current = filter;
+        current.put(username);
+        if (size.incrementAndGet() > current.capacity() && !rebuilding.get()) {
+            Thread.startVirtualThread(this::rebuild);
+        }
+    }
+}
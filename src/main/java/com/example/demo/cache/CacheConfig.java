@@ -0,0 +1,30 @@
+package com.example.demo.cache;
+
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Product;
+import com.example.demo.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public EntityCache<Product> productCache(@Value("${demo.cache.max-entries:10000}") int maxEntries,
+                                             @Value("${demo.cache.ttl-ms:60000}") long ttlMs) {
+        return new EntityCache<>(Product.class.getSimpleName(), maxEntries, ttlMs);
+    }
+
+    @Bean
+    public EntityCache<Course> courseCache(@Value("${demo.cache.max-entries:10000}") int maxEntries,
+                                           @Value("${demo.cache.ttl-ms:60000}") long ttlMs) {
+        return new EntityCache<>(Course.class.getSimpleName(), maxEntries, ttlMs);
+    }
+
+    // GET /products/{id} için ID başına eşzamanlı okumaları birleştirir; değer serialize edilmiş JSON'dur
+    @Bean
+    public SingleFlight<Long, byte[]> productReads(@Value("${demo.single-flight.timeout-ms:2000}") long timeoutMs) {
+        return new SingleFlight<>(timeoutMs);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.cache;
+
+import com.example.demo.entity.EntityChange;
+import com.example.demo.repository.EntityChangeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ChangeLog {
+
+    private final EntityChangeRepository repo;
+    private final Map<String, EntityCache<?>> caches;
+
+    public ChangeLog(EntityChangeRepository repo, List<EntityCache<?>> caches) {
+        this.repo = repo;
+        this.caches = caches.stream().collect(Collectors.toMap(EntityCache::entityType, Function.identity()));
+    }
+
+    // Çağıranın transaction'ına katılır: kayıt ancak entity yazımı commit olursa görünür
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Class<?> entityType, Long entityId) {
+        String type = entityType.getSimpleName();
+        repo.save(new EntityChange(type, entityId, LocalDateTime.now()));
+
+        EntityCache<?> cache = caches.get(type);
+        if (cache != null) {
+            // Bu node'un cache'i tailer'ı beklemeden commit sonrası temizlenir
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(entityId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// entity_change_log tablosunu kısa aralıklarla takip eder ve başka node'ların yazdığı değişiklikler için
+// yerel cache girişlerini geçersiz kılar.
+// IDENTITY değerleri commit sırasıyla görünmeyebilir: atlanan ID'ler bir süre "boşluk" olarak tekrar sorgulanır.
+@Component
+public class ChangeLogTailer {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogTailer.class);
+    private static final int BATCH = 1000;
+
+    private record Change(long id, String entityType, long entityId) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final Map<String, EntityCache<?>> caches;
+    private final long gapTimeoutNanos;
+    private final long retentionMinutes;
+
+    private volatile long lastSeenId = -1;
+    private final TreeMap<Long, Long> pendingGaps = new TreeMap<>();
+
+    public ChangeLogTailer(JdbcTemplate jdbc,
+                           List<EntityCache<?>> caches,
+                           @Value("${demo.cache.gap-timeout-ms:5000}") long gapTimeoutMs,
+                           @Value("${demo.cache.retention-minutes:60}") long retentionMinutes) {
+        this.jdbc = jdbc;
+        this.caches = caches.stream().collect(Collectors.toMap(EntityCache::entityType, Function.identity()));
+        this.gapTimeoutNanos = gapTimeoutMs * 1_000_000L;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        Long max = jdbc.queryForObject("select max(id) from entity_change_log", Long.class);
+        lastSeenId = max != null ? max : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${demo.cache.poll-ms:100}")
+    public synchronized void poll() {
+        if (lastSeenId < 0) {
+            return;
+        }
+        List<Change> changes;
+        do {
+            changes = jdbc.query(
+                    "select id, entity_type, entity_id from entity_change_log where id > ? order by id limit " + BATCH,
+                    (rs, i) -> new Change(rs.getLong(1), rs.getString(2), rs.getLong(3)),
+                    lastSeenId);
+            long now = System.nanoTime();
+            for (Change change : changes) {
+                for (long missing = Math.max(lastSeenId + 1, change.id() - BATCH); missing < change.id(); missing++) {
+                    pendingGaps.put(missing, now);
+                }
+                apply(change);
+                lastSeenId = change.id();
+            }
+        } while (changes.size() == BATCH);
+        recheckGaps();
+    }
+
+    @Scheduled(fixedDelayString = "${demo.cache.prune-ms:300000}")
+    public void prune() {
+        int removed = jdbc.update("delete from entity_change_log where changed_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes)));
+        if (removed > 0) {
+            log.debug("Pruned {} change log rows", removed);
+        }
+    }
+
+    public long lastSeenId() {
+        return lastSeenId;
+    }
+
+    private void recheckGaps() {
+        if (pendingGaps.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Long, Long>> it = pendingGaps.entrySet().iterator();
+        while (it.hasNext()) {
+            // Süresi dolan boşluk geri alınmış bir transaction'a aittir
+            if (now - it.next().getValue() > gapTimeoutNanos) {
+                it.remove();
+            }
+        }
+        if (pendingGaps.isEmpty()) {
+            return;
+        }
+        String ids = pendingGaps.keySet().stream().limit(BATCH).map(String::valueOf).collect(Collectors.joining(","));
+        List<Change> late = jdbc.query(
+                "select id, entity_type, entity_id from entity_change_log where id in (" + ids + ")",
+                (rs, i) -> new Change(rs.getLong(1), rs.getString(2), rs.getLong(3)));
+        for (Change change : late) {
+            apply(change);
+            pendingGaps.remove(change.id());
+        }
+    }
+
+    private void apply(Change change) {
+        EntityCache<?> cache = caches.get(change.entityType());
+        if (cache != null) {
+            cache.invalidate(change.entityId());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.cache;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// ID ile okunan entity'ler için yerel cache. Girişler ChangeLogTailer tarafından geçersiz kılınır;
+// TTL sadece kaçırılan bir geçersiz kılmaya karşı üst sınırdır.
+public class EntityCache<T> {
+
+    private record Entry<T>(T value, long loadedAt) {
+    }
+
+    private final String entityType;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Long, Entry<T>> entries = new ConcurrentHashMap<>();
+    // Yükleme sırasında geçersiz kılma olduysa yüklenen (muhtemelen eski) değer cache'e yazılmaz
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EntityCache(String entityType, int maxEntries, long ttlMillis) {
+        this.entityType = entityType;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    public String entityType() {
+        return entityType;
+    }
+
+    public Optional<T> get(Long id, Supplier<Optional<T>> loader) {
+        Entry<T> entry = entries.get(id);
+        long now = System.nanoTime();
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            return Optional.of(entry.value());
+        }
+        long epoch = invalidations.get();
+        Optional<T> loaded = loader.get();
+        if (loaded.isPresent() && invalidations.get() == epoch) {
+            if (entries.size() >= maxEntries) {
+                evictSome();
+            }
+            entries.put(id, new Entry<>(loaded.get(), now));
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        entries.remove(id);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictSome() {
+        int toRemove = Math.max(1, maxEntries / 10);
+        Iterator<Long> it = entries.keySet().iterator();
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Varsayılan thread-local buffer havuzu virtual thread'lerde (istek başına yeni thread) hiç yeniden
+    // kullanılmaz; paylaşılan eşzamanlı (ConcurrentLinkedDeque) havuz tüm isteklerin aynı okuma/yazma buffer'larını kullanmasını sağlar.
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sharedBufferPool() {
+        return builder -> builder.postConfigurer(mapper -> mapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()));
+    }
+}
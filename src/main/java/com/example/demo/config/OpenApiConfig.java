@@ -1,9 +1,15 @@
 package com.example.demo.config;
+import com.example.demo.idempotency.IdempotencyFilter;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import org.springdoc.core.customizers.OperationCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.PostMapping;
 
 @Configuration
 public class OpenApiConfig {
@@ -17,4 +23,20 @@ public class OpenApiConfig {
                         .description("Postman dersleri için örnek Student/Course/Product/Order + Auth API")
                         .version("1.0.0"));
     }
+
+    // Tüm POST uç noktalarında opsiyonel Idempotency-Key başlığı dokümante edilir
+    @Bean
+    public OperationCustomizer idempotencyKeyHeader() {
+        return (operation, handlerMethod) -> {
+            if (AnnotatedElementUtils.hasAnnotation(handlerMethod.getMethod(), PostMapping.class)) {
+                operation.addParametersItem(new HeaderParameter()
+                        .name(IdempotencyFilter.HEADER)
+                        .required(false)
+                        .description("Aynı anahtarla tekrarlanan istek yeniden çalıştırılmaz, ilk cevap döner; "
+                                + "anahtar farklı bir gövdeyle tekrar kullanılırsa 422 döner")
+                        .schema(new StringSchema().maxLength(255)));
+            }
+            return operation;
+        };
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.demo.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Spring Boot'un open-in-view'u kapatılıp (spring.jpa.open-in-view=false) yerine /auth hariç aynı interceptor kaydedilir.
+// Open-in-view altında ilk sorgudan sonra bağlantı istek sonuna kadar tutulur; şifre hash'i kuyrukta beklerken
+// her login bir havuz bağlantısını kilitler ve CRUD uç noktaları bağlantı bulamaz.
+@Configuration
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private final EntityManagerFactory emf;
+
+    public OpenEntityManagerInViewConfig(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(emf);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/auth/**");
+    }
+}
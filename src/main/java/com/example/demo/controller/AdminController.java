@@ -0,0 +1,147 @@
+package com.example.demo.controller;
+
+import com.example.demo.auth.PasswordHasher;
+import com.example.demo.enrollment.EnrollmentIndex;
+import com.example.demo.exception.ErrorMetrics;
+import com.example.demo.exception.SampledErrorLogger;
+import com.example.demo.idempotency.IdempotencyStore;
+import com.example.demo.jfr.JfrLiveSummary;
+import com.example.demo.order.OrderColumnStore;
+import com.example.demo.order.OrderTimeIndex;
+import com.example.demo.sql.SqlMetrics;
+import com.example.demo.util.SingleFlight;
+import com.example.demo.warmup.WarmupRunner;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Tag(name = "Admin", description = "Operasyonel metrikler ve teşhis uç noktaları")
+@RestController
+@RequestMapping(value = "/admin", produces = "application/json")
+public class AdminController {
+
+    private final ErrorMetrics errorMetrics;
+    private final SampledErrorLogger errorLogger;
+    private final EnrollmentIndex enrollmentIndex;
+    private final OrderTimeIndex orderTimeIndex;
+    private final IdempotencyStore idempotencyStore;
+    private final OrderColumnStore orderColumns;
+    private final SqlMetrics sqlMetrics;
+    private final JfrLiveSummary jfrSummary;
+    private final PasswordHasher passwordHasher;
+    private final SingleFlight<Long, byte[]> productReads;
+    private final WarmupRunner warmup;
+
+    public AdminController(ErrorMetrics errorMetrics, SampledErrorLogger errorLogger, EnrollmentIndex enrollmentIndex,
+                           OrderTimeIndex orderTimeIndex, IdempotencyStore idempotencyStore,
+                           OrderColumnStore orderColumns, SqlMetrics sqlMetrics, JfrLiveSummary jfrSummary,
+                           PasswordHasher passwordHasher, SingleFlight<Long, byte[]> productReads,
+                           WarmupRunner warmup) {
+        this.errorMetrics = errorMetrics;
+        this.errorLogger = errorLogger;
+        this.enrollmentIndex = enrollmentIndex;
+        this.orderTimeIndex = orderTimeIndex;
+        this.idempotencyStore = idempotencyStore;
+        this.orderColumns = orderColumns;
+        this.sqlMetrics = sqlMetrics;
+        this.jfrSummary = jfrSummary;
+        this.passwordHasher = passwordHasher;
+        this.productReads = productReads;
+        this.warmup = warmup;
+    }
+
+    @Operation(summary = "Hata sayaçları", description = "Hata tipine göre toplam sayıları ve bastırılan stack trace sayısını döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Hata sayaçları döndü")})
+    @GetMapping("/errors")
+    public Map<String, Object> errors() {
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("counts", errorMetrics.snapshot());
+        resp.put("suppressedStackTraces", errorLogger.suppressedCount());
+        return resp;
+    }
+
+    @Operation(summary = "Kayıt indeksi istatistikleri", description = "Bellek içi kayıt bitmap'lerinin boyutunu ve kayıt sayısını döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "İstatistikler döndü")})
+    @GetMapping("/enrollment-index")
+    public Map<String, Object> enrollmentIndex() {
+        return enrollmentIndex.stats();
+    }
+
+    @Operation(summary = "Sipariş zaman indeksi istatistikleri", description = "createdAt zaman kovalarının sayısını ve indekslenen sipariş sayısını döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "İstatistikler döndü")})
+    @GetMapping("/order-time-index")
+    public Map<String, Object> orderTimeIndex() {
+        return orderTimeIndex.stats();
+    }
+
+    @Operation(summary = "Sipariş sütun kopyası istatistikleri", description = "Analitik sütun kopyasındaki satır, silinmiş satır sayısını ve durum sözlüğünü döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "İstatistikler döndü")})
+    @GetMapping("/order-columns")
+    public Map<String, Object> orderColumns() {
+        return orderColumns.stats();
+    }
+
+    @Operation(summary = "Idempotency deposu istatistikleri", description = "Saklanan cevap sayısını, tekrar oynatılan ve bekletilen istek sayılarını döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "İstatistikler döndü")})
+    @GetMapping("/idempotency")
+    public Map<String, Object> idempotency() {
+        return idempotencyStore.stats();
+    }
+
+    @Operation(summary = "SQL ifade istatistikleri", description = "Sabitleri ayıklanmış SQL şekli başına çalışma sayısı ve gecikme yüzdeliklerini (toplam süreye göre sıralı) ve eşik üstü yavaş sorguları, tetikleyen controller metodu ile birlikte döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "İstatistikler döndü")})
+    @GetMapping("/sql")
+    public Map<String, Object> sql(@Parameter(description = "En fazla kaç SQL şekli dönsün", example = "50") @RequestParam(defaultValue = "50") int limit) {
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("statements", sqlMetrics.statements(Math.max(1, limit)));
+        resp.put("slowQueries", sqlMetrics.slowQueries());
+        return resp;
+    }
+
+    @Operation(summary = "SQL istatistiklerini sıfırla", description = "SQL histogramlarını ve yavaş sorgu kaydını temizler.")
+    @ApiResponses({@ApiResponse(responseCode = "204", description = "İstatistikler sıfırlandı")})
+    @DeleteMapping("/sql")
+    public ResponseEntity<Void> resetSql() {
+        sqlMetrics.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "JFR canlı özetleri", description = "demo.jfr.streaming.enabled=true iken uygulama içi JFR event akışından toplanan endpoint ve transaction gecikme özetlerini döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Özetler döndü")})
+    @GetMapping("/jfr")
+    public Map<String, Object> jfr() {
+        return jfrSummary.snapshot();
+    }
+
+    @Operation(summary = "Şifre hash havuzu istatistikleri", description = "Şifre hash havuzunun thread/kuyruk durumunu, reddedilen iş sayısını, yükseltilen eski şifre sayısını ve hash süresi ile kuyrukta bekleme yüzdeliklerini döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "İstatistikler döndü")})
+    @GetMapping("/password-hashing")
+    public Map<String, Object> passwordHashing() {
+        return passwordHasher.stats();
+    }
+
+    @Operation(summary = "Birleştirilmiş okuma istatistikleri", description = "GET /products/{id} için yapılan gerçek okuma sayısını, uçuşa katılıp sonucu paylaşan istek sayısını, birleştirme oranını, hata ve zaman aşımı sayılarını döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "İstatistikler döndü")})
+    @GetMapping("/single-flight")
+    public Map<String, Object> singleFlight() {
+        return productReads.stats();
+    }
+
+    @Operation(summary = "JIT ısınma sonucu", description = "Açılıştaki ısınmanın durumunu, tur ve istek sayısını, süresini, toplam JIT derleme süresini ve neden durduğunu (settled, budget, min-rounds, unreachable) döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Isınma özeti döndü")})
+    @GetMapping("/warmup")
+    public Map<String, Object> warmup() {
+        return warmup.stats();
+    }
+}
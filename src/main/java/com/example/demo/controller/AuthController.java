@@ -8,12 +8,17 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.example.demo.auth.PasswordHasher;
+import com.example.demo.auth.UsernameIndex;
 import com.example.demo.entity.AppUser;
 import com.example.demo.repository.AppUserRepository;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -25,15 +30,19 @@ import java.util.Map;
 public class AuthController {
 
     private final AppUserRepository userRepo;
+    private final UsernameIndex usernames;
+    private final PasswordHasher hasher;
 
-    public AuthController(AppUserRepository userRepo) {
+    public AuthController(AppUserRepository userRepo, UsernameIndex usernames, PasswordHasher hasher) {
         this.userRepo = userRepo;
+        this.usernames = usernames;
+        this.hasher = hasher;
     }
     @Operation(
             summary = "Yeni kullanıcı kaydı (register)",
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     required = true,
-                    description = "Kullanıcı kayıt bilgileri (şifre plaintext; demo amaçlı)",
+                    description = "Kullanıcı kayıt bilgileri (şifre tuzlu PBKDF2 hash olarak saklanır)",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = AppUser.class),
@@ -80,6 +89,11 @@ public class AuthController {
             }
             """))
             ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Şifre hash kapasitesi dolu; Retry-After sonrası tekrar denenmeli",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Sunucu hatası",
@@ -88,13 +102,30 @@ public class AuthController {
     })
     @PostMapping(path="/register", consumes="application/json", produces="application/json")
     public ResponseEntity<?> register(@Valid @RequestBody AppUser user) {
-        if (userRepo.existsByUsername(user.getUsername())) {
-            Map<String, String> error = new HashMap<>();
-            error.put("message", "Username already exists");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        // Filtre "yok" diyorsa ön kontrol sorgusu atlanır; yarışları unique constraint yakalar
+        if (usernames.mightExist(user.getUsername()) && userRepo.existsByUsername(user.getUsername())) {
+            return usernameConflict();
         }
 
-        AppUser saved = userRepo.save(user);
+        user.setPassword(hasher.hash(user.getPassword()));
+        AppUser saved;
+        try {
+            saved = userRepo.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            return usernameConflict();
+        }
+        // Isınma isteği gibi geri alınacak bir transaction içindeysek filtre ancak commit olursa güncellenir;
+        // Bloom filter'dan eleman çıkarılamaz, geri alınan kayıtlar yanlış pozitif oranını kalıcı artırırdı
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    usernames.add(saved.getUsername());
+                }
+            });
+        } else {
+            usernames.add(saved.getUsername());
+        }
 
         Map<String, Object> resp = new HashMap<>();
         resp.put("id", saved.getId());
@@ -105,6 +136,29 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.CREATED).body(resp);
     }
 
+    @Operation(
+            summary = "Kullanıcı adı uygunluk kontrolü",
+            description = "Kullanıcı adının kayıt için boşta olup olmadığını döner. Çoğu cevap bellek içi Bloom filter'dan veritabanına gitmeden verilir."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Uygunluk bilgisi döndü",
+                    content = @Content(mediaType = "application/json", examples = @ExampleObject(name = "Available", value = """
+            {
+              "username":"testuser",
+              "available":true
+            }
+            """)))
+    })
+    @GetMapping(path = "/available", produces = "application/json")
+    public Map<String, Object> available(@RequestParam String username) {
+        boolean available = !usernames.mightExist(username) || !userRepo.existsByUsername(username);
+
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("username", username);
+        resp.put("available", available);
+        return resp;
+    }
+
     @Operation(
             summary = "Kullanıcı login",
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -141,6 +195,11 @@ public class AuthController {
             }
             """))
             ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Şifre hash kapasitesi dolu; Retry-After sonrası tekrar denenmeli",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Sunucu hatası",
@@ -153,8 +212,14 @@ public class AuthController {
         String password = loginRequest.get("password");
 
         return userRepo.findByUsername(username)
-                .filter(u -> u.getPassword().equals(password))
+                .filter(u -> hasher.matches(password, u.getPassword()))
                 .map(u -> {
+                    // Eski düz metin (veya eski maliyetli) şifre, doğru girildiği anda yeni biçime yükseltilir
+                    if (hasher.needsRehash(u.getPassword())) {
+                        u.setPassword(hasher.hash(password));
+                        userRepo.save(u);
+                        hasher.recordUpgrade();
+                    }
                     String token = "dummy-token-" + u.getId();
 
                     Map<String, Object> resp = new HashMap<>();
@@ -173,4 +238,10 @@ public class AuthController {
                             .body(error);
                 });
     }
+
+    private ResponseEntity<Map<String, String>> usernameConflict() {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Username already exists");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
 }
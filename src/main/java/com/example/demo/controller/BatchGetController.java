@@ -0,0 +1,160 @@
+package com.example.demo.controller;
+
+import com.example.demo.exception.ApiError;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Order;
+import com.example.demo.entity.Product;
+import com.example.demo.entity.Student;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.ProductRepository;
+import com.example.demo.repository.StudentRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+// Birden fazla entity tipini ID listeleriyle tek istekte okur. Her tip tek (parçalı) IN sorgusuyla,
+// tipler birbirine paralel olarak sanal thread'lerde çözülür; her tip ayrı bir havuz bağlantısı kullanır.
+@Tag(name = "Batch", description = "Birden fazla entity'yi ID ile tek istekte okuma")
+@RestController
+public class BatchGetController {
+
+    @Schema(description = "Entity tipi başına istenen ID listeleri; boş veya verilmeyen tipler atlanır")
+    public record BatchGetRequest(List<Long> products, List<Long> courses, List<Long> students, List<Long> orders) {
+    }
+
+    private final ProductRepository productRepo;
+    private final CourseRepository courseRepo;
+    private final StudentRepository studentRepo;
+    private final OrderRepository orderRepo;
+    private final int chunkSize;
+    private final int maxIds;
+
+    public BatchGetController(ProductRepository productRepo,
+                              CourseRepository courseRepo,
+                              StudentRepository studentRepo,
+                              OrderRepository orderRepo,
+                              @Value("${demo.batch-get.chunk-size:500}") int chunkSize,
+                              @Value("${demo.batch-get.max-ids:1000}") int maxIds) {
+        this.productRepo = productRepo;
+        this.courseRepo = courseRepo;
+        this.studentRepo = studentRepo;
+        this.orderRepo = orderRepo;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxIds = maxIds;
+    }
+
+    @Operation(summary = "Toplu ID ile okuma", description = "Ürün, ders, öğrenci ve siparişleri ID listeleriyle tek istekte döner. Her tip için `found` istek sırasıyla bulunan kayıtları, `notFound` bulunamayan ID'leri içerir. Tekrarlanan ID'ler bir kez döner. Siparişler kalemleriyle birlikte gelir.", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchGetRequest.class), examples = @ExampleObject(name = "Batch Get", value = """
+            {
+              "products": [1, 2, 99],
+              "courses": [1],
+              "students": [3, 4]
+            }
+            """))))
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Sonuçlar döndü", content = @Content(mediaType = "application/json", examples = @ExampleObject(name = "Result", value = """
+            {
+              "products": {"found": [{"id": 1, "name": "Laptop", "category": "Elektronik", "price": 25000.0, "stock": 10}, {"id": 2, "name": "Mouse", "category": "Elektronik", "price": 450.0, "stock": 100}], "notFound": [99]},
+              "courses": {"found": [{"id": 1, "code": "API101", "title": "API Testing Giriş", "credit": 4}], "notFound": []},
+              "students": {"found": [{"id": 3, "firstName": "Ayşe", "lastName": "Demir", "email": "ayse@example.com"}], "notFound": [4]}
+            }
+            """))), @ApiResponse(responseCode = "400", description = "Toplam ID sayısı sınırı aşıldı", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))})
+    @PostMapping(path = "/batch-get", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<?> batchGet(@RequestBody BatchGetRequest request, HttpServletRequest http) {
+        Map<String, List<Long>> requested = new LinkedHashMap<>();
+        putIfPresent(requested, "products", request.products());
+        putIfPresent(requested, "courses", request.courses());
+        putIfPresent(requested, "students", request.students());
+        putIfPresent(requested, "orders", request.orders());
+
+        int total = requested.values().stream().mapToInt(List::size).sum();
+        if (total > maxIds) {
+            return ResponseEntity.badRequest().body(new ApiError(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
+                    "Bad Request", "at most " + maxIds + " ids per request, got " + total, http.getRequestURI()));
+        }
+
+        Map<String, Future<Map<String, Object>>> pending = new LinkedHashMap<>();
+        Map<String, Object> resp = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<String, List<Long>> e : requested.entrySet()) {
+                List<Long> ids = e.getValue();
+                pending.put(e.getKey(), executor.submit(() -> switch (e.getKey()) {
+                    case "products" -> resolve(ids, productRepo::findAllById, Product::getId);
+                    case "courses" -> resolve(ids, courseRepo::findAllById, Course::getId);
+                    case "students" -> resolve(ids, studentRepo::findAllById, Student::getId);
+                    // Kalemler entity graph ile aynı sorguda gelir; paralel thread'de açık oturum yoktur
+                    default -> resolve(ids, orderRepo::findWithLinesByIdIn, Order::getId);
+                }));
+            }
+            for (Map.Entry<String, Future<Map<String, Object>>> e : pending.entrySet()) {
+                resp.put(e.getKey(), e.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch get interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return ResponseEntity.ok(resp);
+    }
+
+    private static void putIfPresent(Map<String, List<Long>> requested, String type, List<Long> ids) {
+        if (ids == null) {
+            return;
+        }
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (!distinct.isEmpty()) {
+            requested.put(type, new ArrayList<>(distinct));
+        }
+    }
+
+    private <T> Map<String, Object> resolve(List<Long> ids, Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            for (T entity : loader.apply(ids.subList(from, Math.min(ids.size(), from + chunkSize)))) {
+                byId.put(idOf.apply(entity), entity);
+            }
+        }
+        List<T> found = new ArrayList<>(byId.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                found.add(entity);
+            } else {
+                notFound.add(id);
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("found", found);
+        result.put("notFound", notFound);
+        return result;
+    }
+}
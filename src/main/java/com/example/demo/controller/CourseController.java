@@ -9,11 +9,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.example.demo.cache.ChangeLog;
+import com.example.demo.cache.EntityCache;
+import com.example.demo.enrollment.EnrollmentIndex;
 import com.example.demo.entity.Course;
+import com.example.demo.entity.CourseDescription;
+import com.example.demo.repository.CourseDescriptionRepository;
 import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.EnrollmentRepository;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,14 +36,26 @@ import java.util.List;
 public class CourseController {
 
     private final CourseRepository repo;
+    private final CourseDescriptionRepository descriptionRepo;
+    private final EntityCache<Course> cache;
+    private final ChangeLog changeLog;
+    private final EnrollmentRepository enrollmentRepo;
+    private final EnrollmentIndex enrollments;
 
-    public CourseController(CourseRepository repo) {
+    public CourseController(CourseRepository repo, CourseDescriptionRepository descriptionRepo,
+                            EntityCache<Course> cache, ChangeLog changeLog,
+                            EnrollmentRepository enrollmentRepo, EnrollmentIndex enrollments) {
         this.repo = repo;
+        this.descriptionRepo = descriptionRepo;
+        this.cache = cache;
+        this.changeLog = changeLog;
+        this.enrollmentRepo = enrollmentRepo;
+        this.enrollments = enrollments;
     }
 
     @Operation(
             summary = "Tüm dersleri listele",
-            description = "Sistemde kayıtlı tüm derslerin listesini döner."
+            description = "Sistemde kayıtlı tüm derslerin listesini döner. Açıklama (description) listede yer almaz; ders detayından okunur."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ders listesi başarıyla döndü")
@@ -46,7 +67,7 @@ public class CourseController {
 
     @Operation(
             summary = "ID ile dersi getir",
-            description = "Belirtilen ID numarasına sahip dersi döner. Ders bulunamazsa 404 döner."
+            description = "Belirtilen ID numarasına sahip dersi açıklamasıyla birlikte döner. Ders bulunamazsa 404 döner."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Ders bulundu"),
@@ -75,7 +96,8 @@ public class CourseController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<Course> getById(@PathVariable Long id) {
-        return repo.findById(id)
+        // Açıklama önbelleğe alınmadan önce ayrı tablodan yüklenir
+        return cache.get(id, () -> repo.findById(id).map(this::withDescription))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -125,9 +147,12 @@ public class CourseController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
             )
     })
+    @Transactional
     @PostMapping(consumes = "application/json")
     public ResponseEntity<Course> create(@Valid @RequestBody Course course) {
         Course saved = repo.save(course);
+        saveDescription(saved.getId(), course.getDescription());
+        changeLog.record(Course.class, saved.getId());
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
@@ -169,6 +194,7 @@ public class CourseController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
             )
     })
+    @Transactional
     @PutMapping(value = "/{id}", consumes = "application/json")
     public ResponseEntity<Course> update(
             @Parameter(description = "Ders ID", example = "1")
@@ -182,6 +208,8 @@ public class CourseController {
                     existing.setDescription(course.getDescription());
                     existing.setCredit(course.getCredit());
                     Course updated = repo.save(existing);
+                    saveDescription(id, course.getDescription());
+                    changeLog.record(Course.class, id);
                     return ResponseEntity.ok(updated);
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -204,6 +232,7 @@ public class CourseController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
             )
     })
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(
             @Parameter(description = "Ders ID", example = "1")
@@ -211,7 +240,29 @@ public class CourseController {
         if (!repo.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
+        enrollmentRepo.deleteByCourseId(id);
+        descriptionRepo.deleteByCourseId(id);
         repo.deleteById(id);
+        changeLog.record(Course.class, id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enrollments.removeCourse(id);
+            }
+        });
         return ResponseEntity.noContent().build();
     }
+
+    private Course withDescription(Course course) {
+        course.setDescription(descriptionRepo.findById(course.getId()).map(CourseDescription::getText).orElse(null));
+        return course;
+    }
+
+    private void saveDescription(Long courseId, String description) {
+        if (description == null || description.isEmpty()) {
+            descriptionRepo.deleteByCourseId(courseId);
+        } else {
+            descriptionRepo.save(new CourseDescription(courseId, description));
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package com.example.demo.controller;
+
+import com.example.demo.enrollment.EnrollmentIndex;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Enrollment;
+import com.example.demo.entity.Student;
+import com.example.demo.exception.ApiError;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.EnrollmentRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.util.RoaringBitmap;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Tag(name = "Enrollment", description = "Öğrenci-ders kayıtları ve bitmap tabanlı küme sorguları")
+@RestController
+public class EnrollmentController {
+
+    private final EnrollmentRepository repo;
+    private final CourseRepository courseRepo;
+    private final StudentRepository studentRepo;
+    private final EnrollmentIndex index;
+
+    public EnrollmentController(EnrollmentRepository repo, CourseRepository courseRepo,
+                                StudentRepository studentRepo, EnrollmentIndex index) {
+        this.repo = repo;
+        this.courseRepo = courseRepo;
+        this.studentRepo = studentRepo;
+        this.index = index;
+    }
+
+    @Operation(
+            summary = "Öğrenciyi derse kaydet",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(mediaType = "application/json", examples = @ExampleObject(name = "Enrollment Example", value = """
+                            {
+                              "studentId": 1
+                            }
+                            """))
+            )
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Kayıt oluşturuldu"),
+            @ApiResponse(responseCode = "400", description = "studentId eksik", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "404", description = "Ders veya öğrenci bulunamadı"),
+            @ApiResponse(responseCode = "409", description = "Öğrenci bu derse zaten kayıtlı", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping(path = "/courses/{id}/enrollments", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<?> enroll(@Parameter(description = "Ders ID", example = "1") @PathVariable Long id,
+                                    @RequestBody Map<String, Long> body) {
+        Long studentId = body.get("studentId");
+        if (studentId == null) {
+            return ResponseEntity.badRequest().body(error(HttpStatus.BAD_REQUEST, "studentId must not be null", "/courses/" + id + "/enrollments"));
+        }
+        if (!courseRepo.existsById(id) || !studentRepo.existsById(studentId)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (index.isEnrolled(id, studentId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error(HttpStatus.CONFLICT, "Student is already enrolled", "/courses/" + id + "/enrollments"));
+        }
+        Enrollment saved = repo.saveAndFlush(new Enrollment(null, id, studentId, LocalDateTime.now()));
+        index.add(id, studentId);
+        return new ResponseEntity<>(saved, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Ders kaydını sil")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Kayıt silindi"),
+            @ApiResponse(responseCode = "404", description = "Kayıt bulunamadı")
+    })
+    @DeleteMapping("/courses/{id}/enrollments/{studentId}")
+    public ResponseEntity<Void> unenroll(@Parameter(description = "Ders ID", example = "1") @PathVariable Long id,
+                                         @Parameter(description = "Öğrenci ID", example = "1") @PathVariable Long studentId) {
+        if (repo.deleteByCourseIdAndStudentId(id, studentId) == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        index.remove(id, studentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Derse kayıtlı öğrencileri listele", description = "Öğrenciler ID sırasına göre sayfalanarak döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Öğrenci listesi döndü")})
+    @GetMapping(path = "/courses/{id}/students", produces = "application/json")
+    public List<Student> studentsOfCourse(@Parameter(description = "Ders ID", example = "1") @PathVariable Long id,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "100") int size) {
+        page = Math.max(0, page);
+        size = Math.max(1, size);
+        int[] ids = index.studentsOf(id).slice((long) page * size, size);
+        List<Student> students = studentRepo.findAllById(toLongs(ids));
+        students.sort(Comparator.comparing(Student::getId));
+        return students;
+    }
+
+    @Operation(summary = "Öğrencinin kayıtlı olduğu dersleri listele")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Ders listesi döndü")})
+    @GetMapping(path = "/students/{id}/courses", produces = "application/json")
+    public List<Course> coursesOfStudent(@Parameter(description = "Öğrenci ID", example = "1") @PathVariable Long id) {
+        List<Course> courses = courseRepo.findAllById(toLongs(index.coursesOf(id).toArray()));
+        courses.sort(Comparator.comparing(Course::getId));
+        return courses;
+    }
+
+    @Operation(
+            summary = "Kayıt küme sorgusu",
+            description = "`all` listesindeki derslerin hepsine, `any` listesindekilerden en az birine kayıtlı olup "
+                    + "`none` listesindekilerin hiçbirine kayıtlı olmayan öğrencilerin ID'lerini döner. "
+                    + "Örn: A ve B'ye kayıtlılar için `all=A,B`; A'da olup B'de olmayanlar için `all=A&none=B`."
+    )
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Sorgu sonucu döndü")})
+    @GetMapping(path = "/enrollments/query", produces = "application/json")
+    public Map<String, Object> query(@RequestParam(defaultValue = "") List<Long> all,
+                                     @RequestParam(defaultValue = "") List<Long> any,
+                                     @RequestParam(defaultValue = "") List<Long> none,
+                                     @RequestParam(defaultValue = "0") int page,
+                                     @RequestParam(defaultValue = "1000") int size) {
+        page = Math.max(0, page);
+        size = Math.max(1, size);
+        RoaringBitmap result = index.query(all, any, none);
+
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("count", result.cardinality());
+        resp.put("page", page);
+        resp.put("studentIds", result.slice((long) page * size, size));
+        return resp;
+    }
+
+    private static List<Long> toLongs(int[] ids) {
+        return Arrays.stream(ids).mapToObj(i -> (long) i).toList();
+    }
+
+    private static ApiError error(HttpStatus status, String message, String path) {
+        return new ApiError(LocalDateTime.now(), status.value(), status.getReasonPhrase(), message, path);
+    }
+}
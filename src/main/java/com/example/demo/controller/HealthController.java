@@ -0,0 +1,48 @@
+package com.example.demo.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// Load balancer / Kubernetes probları. Spring Boot'un availability durumlarını okur;
+// readiness açılıştaki JIT ısınması bitene kadar REFUSING_TRAFFIC kalır.
+@Tag(name = "Health", description = "Liveness ve readiness probları")
+@RestController
+@RequestMapping(value = "/health", produces = "application/json")
+public class HealthController {
+
+    private final ApplicationAvailability availability;
+
+    public HealthController(ApplicationAvailability availability) {
+        this.availability = availability;
+    }
+
+    @Operation(summary = "Liveness probu", description = "Uygulama canlıysa 200 (UP), bozuk durumdaysa 503 döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Uygulama canlı"), @ApiResponse(responseCode = "503", description = "Uygulama bozuk durumda")})
+    @GetMapping("/liveness")
+    public ResponseEntity<Map<String, String>> liveness() {
+        boolean up = availability.getLivenessState() == LivenessState.CORRECT;
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("status", up ? "UP" : "DOWN"));
+    }
+
+    @Operation(summary = "Readiness probu", description = "Uygulama trafik almaya hazırsa 200 (UP), açılış veya JIT ısınması sürüyorsa 503 (OUT_OF_SERVICE) döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Trafik alınabilir"), @ApiResponse(responseCode = "503", description = "Henüz hazır değil")})
+    @GetMapping("/readiness")
+    public ResponseEntity<Map<String, String>> readiness() {
+        boolean ready = availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("status", ready ? "UP" : "OUT_OF_SERVICE"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.controller;
+
+import com.example.demo.exception.ApiError;
+import com.example.demo.importer.BulkImporter;
+import com.example.demo.importer.ImportJob;
+import com.example.demo.importer.ImportTarget;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@Tag(name = "Import", description = "Ürün ve öğrenci verilerinin CSV veya JSON dizisi olarak toplu içe aktarımı")
+@RestController
+public class ImportController {
+
+    private static final String CSV = "text/csv";
+
+    private final BulkImporter importer;
+
+    public ImportController(BulkImporter importer) {
+        this.importer = importer;
+    }
+
+    @Operation(
+            summary = "Ürünleri toplu içe aktar",
+            description = "İstek gövdesi CSV (`text/csv`, başlık satırı: name,category,price,stock) veya JSON dizisi olarak akış halinde okunur. "
+                    + "Geçerli satırlar batch INSERT ile yazılır, hatalı satırlar satır numarasıyla raporlanır. "
+                    + "İlerleme `X-Import-Id` header'ı ile verilen ID üzerinden `GET /imports/{id}` ile izlenebilir."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "İçe aktarma tamamlandı (satır hataları gövdede)"),
+            @ApiResponse(responseCode = "409", description = "Aynı `X-Import-Id` ile bir içe aktarma zaten var", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping(path = "/products/import", consumes = {CSV, MediaType.APPLICATION_JSON_VALUE}, produces = "application/json")
+    public ImportJob importProducts(@RequestHeader(value = "X-Import-Id", required = false) String importId,
+                                    HttpServletRequest request) throws IOException {
+        return importer.run(ImportTarget.PRODUCTS, format(request), request.getInputStream(), importId);
+    }
+
+    @Operation(
+            summary = "Öğrencileri toplu içe aktar",
+            description = "İstek gövdesi CSV (`text/csv`, başlık satırı: firstName,lastName,email) veya JSON dizisi olarak akış halinde okunur."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "İçe aktarma tamamlandı (satır hataları gövdede)"),
+            @ApiResponse(responseCode = "409", description = "Aynı `X-Import-Id` ile bir içe aktarma zaten var", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    })
+    @PostMapping(path = "/students/import", consumes = {CSV, MediaType.APPLICATION_JSON_VALUE}, produces = "application/json")
+    public ImportJob importStudents(@RequestHeader(value = "X-Import-Id", required = false) String importId,
+                                    HttpServletRequest request) throws IOException {
+        return importer.run(ImportTarget.STUDENTS, format(request), request.getInputStream(), importId);
+    }
+
+    @Operation(summary = "İçe aktarma durumunu getir", description = "Devam eden veya yakın zamanda biten bir içe aktarmanın ilerlemesini ve satır hatalarını döner.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "İçe aktarma bulundu"),
+            @ApiResponse(responseCode = "404", description = "İçe aktarma bulunamadı", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))
+    })
+    @GetMapping(path = "/imports/{id}", produces = "application/json")
+    public ResponseEntity<ImportJob> status(@Parameter(description = "İçe aktarma ID") @PathVariable String id) {
+        ImportJob job = importer.find(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    private static BulkImporter.Format format(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(CSV) ? BulkImporter.Format.CSV : BulkImporter.Format.JSON;
+    }
+}
@@ -10,14 +10,39 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import com.example.demo.entity.Order;
+import com.example.demo.entity.OrderLine;
+import com.example.demo.entity.Product;
+import com.example.demo.event.OrderChangedEvent;
+import com.example.demo.order.CustomerLeaderboard;
+import com.example.demo.order.OrderColumnStore;
+import com.example.demo.order.OrderSketches;
+import com.example.demo.order.OrderTimeIndex;
 import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.OrderSpecifications;
+import com.example.demo.repository.ProductRepository;
+import com.example.demo.stream.OrderEventBroadcaster;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Tag(name = "Order", description = "Sipariş (Order) CRUD işlemleri — müşteri adı, toplam tutar, durum ve oluşturulma zamanı içerir.")
 @RestController
@@ -25,34 +50,144 @@ import java.util.List;
 public class OrderController {
 
     private final OrderRepository repo;
+    private final ProductRepository productRepo;
+    private final ApplicationEventPublisher events;
+    private final OrderEventBroadcaster broadcaster;
+    private final OrderTimeIndex timeIndex;
+    private final OrderColumnStore columns;
+    private final OrderSketches sketches;
+    private final CustomerLeaderboard leaderboard;
 
-    public OrderController(OrderRepository repo) {
+    public OrderController(OrderRepository repo, ProductRepository productRepo, ApplicationEventPublisher events,
+                           OrderEventBroadcaster broadcaster, OrderTimeIndex timeIndex, OrderColumnStore columns,
+                           OrderSketches sketches, CustomerLeaderboard leaderboard) {
         this.repo = repo;
+        this.productRepo = productRepo;
+        this.events = events;
+        this.broadcaster = broadcaster;
+        this.timeIndex = timeIndex;
+        this.columns = columns;
+        this.sketches = sketches;
+        this.leaderboard = leaderboard;
     }
 
-    @Operation(summary = "Tüm siparişleri listele", description = "Sistemde kayıtlı tüm siparişleri döner.")
+    @Operation(summary = "Tüm siparişleri listele", description = "Sistemde kayıtlı tüm siparişleri kalemleriyle birlikte döner. `page` verilirse ID sırasıyla o sayfa döner (önce ID sayfası, sonra o siparişler kalemleriyle tek sorguda okunur). `from`/`to` verilirse sadece o zaman aralığında oluşturulan siparişler, oluşturulma zamanına göre sıralı döner; sorgu sadece ilgili zaman kovalarına bakar.")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Sipariş listesi başarıyla döndü")})
     @GetMapping
-    public List<Order> getAll() {
-        return repo.findAll();
+    public List<Order> getAll(@Parameter(description = "Başlangıç (dahil)", example = "2025-11-11T00:00:00") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                              @Parameter(description = "Bitiş (hariç)", example = "2025-11-12T00:00:00") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                              @Parameter(description = "Aralık sorgusunda en fazla dönecek sipariş", example = "1000") @RequestParam(defaultValue = "1000") int limit,
+                              @Parameter(description = "Sayfa numarası (0'dan başlar)", example = "0") @RequestParam(required = false) Integer page,
+                              @Parameter(description = "Sayfa boyutu (en fazla 500)", example = "50") @RequestParam(defaultValue = "50") int size) {
+        if (from == null && to == null) {
+            if (page == null) {
+                return repo.findAllWithLines();
+            }
+            List<Long> ids = repo.findIdPage(PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, 500))));
+            return ids.isEmpty() ? List.of() : repo.findWithLinesByIdIn(ids);
+        }
+        List<Long> ids = timeIndex.idsBetween(from, to, Math.max(1, limit));
+        List<Order> orders = ids.isEmpty() ? new ArrayList<>() : new ArrayList<>(repo.findWithLinesByIdIn(ids));
+        orders.sort(Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getId));
+        return orders;
+    }
+
+    @Operation(summary = "Eski zaman kovalarını düşür", description = "`before` zamanından önceki tüm zaman kovalarını ve içindeki siparişleri tek seferde siler.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Silinen kova ve sipariş sayısı döndü")})
+    @DeleteMapping("/partitions")
+    public Map<String, Long> dropPartitions(@Parameter(description = "Bu zamandan önceki kovalar silinir", example = "2025-01-01T00:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return timeIndex.dropBefore(before);
+    }
+
+    @Operation(summary = "Sipariş olay akışı (SSE)", description = "Sipariş oluşturma, durum değişikliği ve silme olaylarını Server-Sent Events olarak yayınlar. Yeniden bağlanırken `Last-Event-ID` header'ı gönderilirse kaçırılan olaylar replay halkasından tekrar iletilir. ID'ler `<epoch>-<sıra>` biçimindedir; halkadan düşmüş veya sunucu yeniden başlamadan önceki bir ID için önce `reset` olayı gönderilir.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Olay akışı açıldı", content = @Content(mediaType = "text/event-stream"))})
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return broadcaster.subscribe(lastEventId);
+    }
+
+    @Operation(summary = "Sipariş numarası ile siparişi getir", description = "`orderNumber` üzerindeki unique indeks ile tek satır okunur.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Sipariş bulundu"), @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))})
+    @GetMapping("/by-number/{orderNumber}")
+    public ResponseEntity<Order> getByOrderNumber(@Parameter(description = "Sipariş numarası", example = "ORD-20251111-001") @PathVariable String orderNumber) {
+        return repo.findByOrderNumber(orderNumber).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Sipariş ara", description = "Müşteri adı (önek), durum ve tutar aralığına göre filtreler. Sonuçlar ID sırasıyla döner; sonraki sayfa için son ID `afterId` olarak gönderilir.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Arama sonucu döndü")})
+    @GetMapping("/search")
+    public List<Order> search(@Parameter(description = "Müşteri adı öneki", example = "Ali") @RequestParam(required = false) String customer,
+                              @Parameter(description = "Sipariş durumu", example = "PAID") @RequestParam(required = false) String status,
+                              @Parameter(description = "En düşük tutar", example = "100") @RequestParam(required = false) Double minAmount,
+                              @Parameter(description = "En yüksek tutar", example = "2000") @RequestParam(required = false) Double maxAmount,
+                              @Parameter(description = "Bu ID'den sonraki siparişler") @RequestParam(required = false) Long afterId,
+                              @Parameter(description = "Sayfa boyutu (en fazla 500)", example = "50") @RequestParam(defaultValue = "50") int size) {
+        int limit = Math.max(1, Math.min(size, 500));
+        return repo.findBy(OrderSpecifications.search(customer, status, minAmount, maxAmount, afterId),
+                q -> q.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    @Operation(summary = "Sipariş tutarı analizi", description = "Durum ve `createdAt` aralığına göre filtrelenen siparişlerin toplam, ortalama, en düşük/en yüksek tutarını ve tutar histogramını döner. Sorgu veritabanına gitmez; siparişlerin bellek içi sütun kopyası paralel taranır. Son histogram kovası üst sınırsızdır.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Analiz sonucu döndü", content = @Content(mediaType = "application/json", examples = @ExampleObject(name = "Analytics", value = """
+            {
+              "count": 2,
+              "sum": 1399.99,
+              "avg": 699.995,
+              "min": 100.00,
+              "max": 1299.99,
+              "histogram": [{"from": 0.00, "to": 500.00, "count": 1}, {"from": 500.00, "to": null, "count": 1}],
+              "scannedRows": 2,
+              "elapsedMicros": 35
+            }
+            """)))})
+    @GetMapping("/analytics")
+    public Map<String, Object> analytics(@Parameter(description = "Sipariş durumu", example = "PAID") @RequestParam(required = false) String status,
+                                         @Parameter(description = "Başlangıç (dahil)", example = "2025-11-11T00:00:00") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                         @Parameter(description = "Bitiş (hariç)", example = "2025-11-12T00:00:00") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                         @Parameter(description = "Histogram kova genişliği (tutar)", example = "100") @RequestParam(defaultValue = "100") double bucketWidth,
+                                         @Parameter(description = "Histogram kova sayısı (en fazla 1000)", example = "20") @RequestParam(defaultValue = "20") int buckets) {
+        return columns.aggregate(new OrderColumnStore.Query(status, from, to, Math.max(0.01, bucketWidth),
+                Math.max(1, Math.min(buckets, 1000))));
+    }
+
+    @Operation(summary = "Günlük yaklaşık istatistikler", description = "Gün başına sipariş sayısı, ayrık müşteri sayısı (HyperLogLog, ~%0.8 standart hata) ve tutar yüzdelikleri (KLL, ~%1.4 rank hatası) ile aralığın birleştirilmiş değerlerini döner. Tarih verilmezse bugün kullanılır. Değerler o gün oluşturulan siparişleri yansıtır; sonradan silinen veya güncellenen siparişler düşülmez.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Sketch özetleri döndü")})
+    @GetMapping("/sketches")
+    public Map<String, Object> sketches(@Parameter(description = "Başlangıç günü (dahil)", example = "2025-11-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @Parameter(description = "Bitiş günü (dahil)", example = "2025-11-11") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        return sketches.query(from != null ? from : end, end);
+    }
+
+    @Operation(summary = "En çok harcayan müşteriler", description = "Toplam sipariş tutarına göre ilk `n` müşteriyi döner. İptal edilen (CANCELED) siparişler toplama girmez. Sorgu veritabanına gitmez; müşteri toplamları sipariş oluşturma, güncelleme ve silmede bellek içi sıralı listede güncellenir.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Sıralama döndü", content = @Content(mediaType = "application/json", examples = @ExampleObject(name = "Top Customers", value = """
+            [
+              {"rank": 1, "customerName": "Ali Yılmaz", "totalAmount": 5299.97, "orders": 3},
+              {"rank": 2, "customerName": "Ayşe Demir", "totalAmount": 1299.99, "orders": 1}
+            ]
+            """)))})
+    @GetMapping("/top-customers")
+    public List<Map<String, Object>> topCustomers(@Parameter(description = "Dönecek müşteri sayısı (en fazla 1000)", example = "10") @RequestParam(defaultValue = "10") int n) {
+        return leaderboard.top(Math.max(1, Math.min(n, 1000)));
     }
 
-    @Operation(summary = "ID ile siparişi getir", description = "Belirtilen ID numarasına sahip siparişi döner.")
+    @Operation(summary = "ID ile siparişi getir", description = "Belirtilen ID numarasına sahip siparişi kalemleriyle birlikte döner.")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Sipariş bulundu"), @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))), @ApiResponse(responseCode = "500", description = "Sunucu hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))})
     @GetMapping("/{id}")
     public ResponseEntity<Order> getById(@Parameter(description = "Sipariş ID", example = "1") @PathVariable Long id) {
-        return repo.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        return repo.findWithLinesById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
-    @Operation(summary = "Yeni sipariş oluştur", description = "Yeni bir sipariş kaydı oluşturur. `createdAt` değeri backend tarafından otomatik atanır.", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, description = "Yeni sipariş bilgileri", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Order.class), examples = @ExampleObject(name = "Order Example", value = """
+    @Operation(summary = "Yeni sipariş oluştur", description = "Yeni bir sipariş kaydı oluşturur. `createdAt` değeri backend tarafından otomatik atanır. `lines` verilirse kalemlerin birim fiyatı ürünün güncel fiyatından alınır ve `totalAmount` kalemlerden hesaplanır.", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, description = "Yeni sipariş bilgileri", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Order.class), examples = @ExampleObject(name = "Order Example", value = """
             {
               "orderNumber": "ORD-20251111-001",
               "customerName": "Ali Yılmaz",
               "totalAmount": 1299.99,
-              "status": "CREATED"
+              "status": "CREATED",
+              "lines": [{"productId": 1, "quantity": 2}, {"productId": 3, "quantity": 1}]
             }
             """))))
-    @ApiResponses({@ApiResponse(responseCode = "201", description = "Sipariş başarıyla oluşturuldu"), @ApiResponse(responseCode = "400", description = "Geçersiz istek veya validation hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class), examples = @ExampleObject(name = "Validation Error", value = """
+    @ApiResponses({@ApiResponse(responseCode = "201", description = "Sipariş başarıyla oluşturuldu"), @ApiResponse(responseCode = "400", description = "Geçersiz istek veya validation hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class), examples = {@ExampleObject(name = "Validation Error", value = """
             {
               "timestamp": "2025-11-11T12:34:56.789",
               "status": 400,
@@ -60,18 +195,33 @@ public class OrderController {
               "message": "orderNumber must not be blank, customerName must not be blank",
               "path": "/orders"
             }
-            """))), @ApiResponse(responseCode = "500", description = "Sunucu hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))})
+            """), @ExampleObject(name = "Unknown Product", value = """
+            {
+              "timestamp": "2025-11-11T12:34:56.789",
+              "status": 400,
+              "error": "Bad Request",
+              "message": "product not found: 99",
+              "path": "/orders"
+            }
+            """)})), @ApiResponse(responseCode = "409", description = "Sipariş numarası zaten mevcut", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))), @ApiResponse(responseCode = "500", description = "Sunucu hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))})
     @PostMapping(consumes = "application/json")
-    public ResponseEntity<Order> create(@Valid @RequestBody Order order) {
+    public ResponseEntity<?> create(@Valid @RequestBody Order order, HttpServletRequest request) {
         order.setCreatedAt(LocalDateTime.now());
         if (order.getStatus() == null || order.getStatus().isBlank()) {
             order.setStatus("CREATED");
         }
+        List<OrderLine> requested = order.getLines() != null ? order.getLines() : List.of();
+        order.setLines(new ArrayList<>());
+        String error = attachLines(order, requested);
+        if (error != null) {
+            return badRequest(error, request);
+        }
         Order saved = repo.save(order);
+        events.publishEvent(OrderChangedEvent.created(saved));
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Var olan siparişi güncelle", description = "Sipariş durumunu veya diğer alanları günceller.", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, description = "Güncellenecek sipariş bilgileri", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Order.class), examples = @ExampleObject(name = "Update Order", value = """
+    @Operation(summary = "Var olan siparişi güncelle", description = "Sipariş durumunu veya diğer alanları günceller. `lines` boş değilse mevcut kalemlerin yerine geçer ve `totalAmount` kalemlerden yeniden hesaplanır; verilmezse kalemlere dokunulmaz.", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, description = "Güncellenecek sipariş bilgileri", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Order.class), examples = @ExampleObject(name = "Update Order", value = """
             {
               "orderNumber": "ORD-20251111-001",
               "customerName": "Ali Yılmaz",
@@ -81,13 +231,22 @@ public class OrderController {
             """))))
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Sipariş güncellendi"), @ApiResponse(responseCode = "400", description = "Geçersiz istek veya validation hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))), @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))), @ApiResponse(responseCode = "500", description = "Sunucu hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))})
     @PutMapping(value = "/{id}", consumes = "application/json")
-    public ResponseEntity<Order> update(@PathVariable Long id, @Valid @RequestBody Order order) {
-        return repo.findById(id).map(existing -> {
+    public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody Order order, HttpServletRequest request) {
+        return repo.findWithLinesById(id).<ResponseEntity<?>>map(existing -> {
+            Order previous = OrderChangedEvent.snapshot(existing);
             existing.setOrderNumber(order.getOrderNumber());
             existing.setCustomerName(order.getCustomerName());
             existing.setTotalAmount(order.getTotalAmount());
             existing.setStatus(order.getStatus());
-            return ResponseEntity.ok(repo.save(existing));
+            if (order.getLines() != null && !order.getLines().isEmpty()) {
+                String error = attachLines(existing, order.getLines());
+                if (error != null) {
+                    return badRequest(error, request);
+                }
+            }
+            Order saved = repo.save(existing);
+            events.publishEvent(OrderChangedEvent.updated(previous, saved));
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -103,11 +262,45 @@ public class OrderController {
             """)})), @ApiResponse(responseCode = "500", description = "Sunucu hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))})
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@Parameter(description = "Sipariş ID", example = "1") @PathVariable Long id) {
-        if (!repo.existsById(id)) {
-            return ResponseEntity.notFound().build();
+        return repo.findWithLinesById(id).map(existing -> {
+            repo.delete(existing);
+            events.publishEvent(OrderChangedEvent.deleted(existing));
+            return ResponseEntity.noContent().<Void>build();
+        }).orElse(ResponseEntity.notFound().build());
+    }
+
+    // Kalemlerin ürünleri tek sorguda okunur; birim fiyat ürünün o anki fiyatıdır.
+    // Hata yoksa target'ın kalemleri değiştirilir ve toplam tutar kalemlerden hesaplanır.
+    private String attachLines(Order target, List<OrderLine> requested) {
+        if (requested.isEmpty()) {
+            return null;
+        }
+        Set<Long> productIds = new HashSet<>();
+        for (OrderLine line : requested) {
+            productIds.add(line.getProductId());
         }
-        repo.deleteById(id);
-        return ResponseEntity.noContent().build();
+        Map<Long, Product> products = productRepo.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<OrderLine> resolved = new ArrayList<>(requested.size());
+        double total = 0;
+        for (OrderLine line : requested) {
+            Product product = products.get(line.getProductId());
+            if (product == null) {
+                return "product not found: " + line.getProductId();
+            }
+            double unitPrice = product.getPrice() != null ? product.getPrice() : 0.0;
+            resolved.add(new OrderLine(null, target, product, line.getQuantity(), unitPrice));
+            total += unitPrice * line.getQuantity();
+        }
+        target.getLines().clear();
+        target.getLines().addAll(resolved);
+        target.setTotalAmount(Math.round(total * 100) / 100.0);
+        return null;
     }
-}
 
+    private static ResponseEntity<ApiError> badRequest(String message, HttpServletRequest request) {
+        return ResponseEntity.badRequest().body(new ApiError(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
+                "Bad Request", message, request.getRequestURI()));
+    }
+}
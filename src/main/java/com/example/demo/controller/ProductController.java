@@ -9,11 +9,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.example.demo.cache.ChangeLog;
+import com.example.demo.cache.EntityCache;
 import com.example.demo.entity.Product;
 import com.example.demo.repository.ProductRepository;
+import com.example.demo.util.SingleFlight;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,9 +33,18 @@ import java.util.List;
 public class ProductController {
 
     private final ProductRepository repo;
+    private final EntityCache<Product> cache;
+    private final ChangeLog changeLog;
+    private final SingleFlight<Long, byte[]> reads;
+    private final ObjectMapper mapper;
 
-    public ProductController(ProductRepository repo) {
+    public ProductController(ProductRepository repo, EntityCache<Product> cache, ChangeLog changeLog,
+                             SingleFlight<Long, byte[]> reads, ObjectMapper mapper) {
         this.repo = repo;
+        this.cache = cache;
+        this.changeLog = changeLog;
+        this.reads = reads;
+        this.mapper = mapper;
     }
 
     @Operation(
@@ -43,10 +61,10 @@ public class ProductController {
 
     @Operation(
             summary = "ID ile ürünü getir",
-            description = "Belirtilen ID'ye sahip ürünü döner."
+            description = "Belirtilen ID'ye sahip ürünü döner. Aynı ID için eşzamanlı istekler tek okuma ve tek JSON serileştirmesini paylaşır."
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Ürün bulundu"),
+            @ApiResponse(responseCode = "200", description = "Ürün bulundu", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Product.class))),
             @ApiResponse(
                     responseCode = "404",
                     description = "Ürün bulunamadı",
@@ -74,11 +92,13 @@ public class ProductController {
             )
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getById(@Parameter(description = "Ürün ID", example = "1")
-                                               @PathVariable Long id) {
-        return repo.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getById(@Parameter(description = "Ürün ID", example = "1")
+                                          @PathVariable Long id) {
+        byte[] body = reads.execute(id, () -> cache.get(id, () -> repo.findById(id)).map(this::toJson).orElse(null));
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @Operation(
@@ -132,9 +152,11 @@ public class ProductController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
             )
     })
+    @Transactional
     @PostMapping(consumes = "application/json")
     public ResponseEntity<Product> create(@Valid @RequestBody Product product) {
         Product saved = repo.save(product);
+        changeLog.record(Product.class, saved.getId());
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
@@ -179,6 +201,7 @@ public class ProductController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
             )
     })
+    @Transactional
     @PutMapping(value = "/{id}", consumes = "application/json")
     public ResponseEntity<Product> update(@PathVariable Long id,
                                           @Valid @RequestBody Product product) {
@@ -189,6 +212,8 @@ public class ProductController {
                     existing.setPrice(product.getPrice());
                     existing.setStock(product.getStock());
                     Product updated = repo.save(existing);
+                    changeLog.record(Product.class, id);
+                    forgetReadAfterCommit(id);
                     return ResponseEntity.ok(updated);
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -211,12 +236,33 @@ public class ProductController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))
             )
     })
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@Parameter(description = "Ürün ID", example = "1") @PathVariable Long id) {
         if (!repo.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
         repo.deleteById(id);
+        changeLog.record(Product.class, id);
+        forgetReadAfterCommit(id);
         return ResponseEntity.noContent().build();
     }
+
+    private byte[] toJson(Product product) {
+        try {
+            return mapper.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Commit'ten sonra gelen okumalar, yazmadan önce başlamış bir uçuşa katılıp eski değeri almasın
+    private void forgetReadAfterCommit(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reads.forget(id);
+            }
+        });
+    }
 }
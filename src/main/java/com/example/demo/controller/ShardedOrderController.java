@@ -0,0 +1,104 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.Order;
+import com.example.demo.exception.ApiError;
+import com.example.demo.shard.ShardedOrderStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Tag(name = "Sharded Order", description = "N veritabanına hash ile dağıtılmış siparişler (demo.orders.sharding.enabled=true iken)")
+@RestController
+@RequestMapping("/sharded/orders")
+@ConditionalOnProperty(name = "demo.orders.sharding.enabled", havingValue = "true")
+public class ShardedOrderController {
+
+    private final ShardedOrderStore store;
+
+    public ShardedOrderController(ShardedOrderStore store) {
+        this.store = store;
+    }
+
+    @Operation(summary = "Sipariş ara (tüm shard'lar)", description = "Filtre tüm shard'lara paralel gönderilir, ID sıralı sonuçlar birleştirilir. Sonraki sayfa için son ID `afterId` olarak gönderilir.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Arama sonucu döndü")})
+    @GetMapping
+    public List<Order> search(@Parameter(description = "Müşteri adı öneki", example = "Ali") @RequestParam(required = false) String customer,
+                              @Parameter(description = "Sipariş durumu", example = "PAID") @RequestParam(required = false) String status,
+                              @Parameter(description = "En düşük tutar", example = "100") @RequestParam(required = false) Double minAmount,
+                              @Parameter(description = "En yüksek tutar", example = "2000") @RequestParam(required = false) Double maxAmount,
+                              @Parameter(description = "Bu ID'den sonraki siparişler") @RequestParam(required = false) Long afterId,
+                              @Parameter(description = "Sayfa boyutu (en fazla 500)", example = "50") @RequestParam(defaultValue = "50") int size) {
+        return store.search(customer, status, minAmount, maxAmount, afterId, Math.max(1, Math.min(size, 500)));
+    }
+
+    @Operation(summary = "Durum bazında toplamlar", description = "Her shard kendi toplamını hesaplar; sayı, toplam, ortalama, en düşük ve en yüksek tutar birleştirilerek döner.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Toplamlar döndü")})
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("shardKey", store.shardKey());
+        resp.put("ordersPerShard", store.countsPerShard());
+        resp.put("byStatus", store.aggregateByStatus());
+        return resp;
+    }
+
+    @Operation(summary = "ID ile siparişi getir", description = "ID, siparişin bulunduğu shard'ı kodlar; sorgu sadece o shard'a gider.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Sipariş bulundu"), @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı")})
+    @GetMapping("/{id}")
+    public ResponseEntity<Order> getById(@PathVariable Long id) {
+        return store.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Sipariş numarası ile siparişi getir", description = "Shard anahtarı orderNumber ise tek shard'a, değilse tüm shard'lara gider.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Sipariş bulundu"), @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı")})
+    @GetMapping("/by-number/{orderNumber}")
+    public ResponseEntity<Order> getByOrderNumber(@PathVariable String orderNumber) {
+        return store.findByOrderNumber(orderNumber).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Yeni sipariş oluştur", description = "Sipariş, shard anahtarının hash'ine göre seçilen shard'a yazılır.")
+    @ApiResponses({@ApiResponse(responseCode = "201", description = "Sipariş oluşturuldu"), @ApiResponse(responseCode = "400", description = "Validation hatası", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))), @ApiResponse(responseCode = "409", description = "Sipariş numarası zaten mevcut", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class)))})
+    @PostMapping(consumes = "application/json")
+    public ResponseEntity<Order> create(@Valid @RequestBody Order order) {
+        order.setId(null);
+        order.setCreatedAt(LocalDateTime.now());
+        if (order.getStatus() == null || order.getStatus().isBlank()) {
+            order.setStatus("CREATED");
+        }
+        return new ResponseEntity<>(store.create(order), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Siparişi güncelle", description = "Shard anahtarı olan alan değiştirilemez.")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Sipariş güncellendi"), @ApiResponse(responseCode = "400", description = "Validation hatası veya shard anahtarı değişikliği", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiError.class))), @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı")})
+    @PutMapping(value = "/{id}", consumes = "application/json")
+    public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody Order order, HttpServletRequest request) {
+        try {
+            return store.update(id, order).<ResponseEntity<?>>map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        } catch (ShardedOrderStore.ShardKeyChangeException e) {
+            return ResponseEntity.badRequest().body(new ApiError(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
+                    "Bad Request", e.getMessage(), request.getRequestURI()));
+        }
+    }
+
+    @Operation(summary = "Siparişi sil")
+    @ApiResponses({@ApiResponse(responseCode = "204", description = "Sipariş silindi"), @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı")})
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        return store.delete(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
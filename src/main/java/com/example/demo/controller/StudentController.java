@@ -9,11 +9,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.example.demo.enrollment.EnrollmentIndex;
 import com.example.demo.entity.Student;
+import com.example.demo.repository.EnrollmentRepository;
 import com.example.demo.repository.StudentRepository;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,9 +29,13 @@ import java.util.List;
 public class StudentController {
 
     private final StudentRepository repo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final EnrollmentIndex enrollments;
 
-    public StudentController(StudentRepository repo) {
+    public StudentController(StudentRepository repo, EnrollmentRepository enrollmentRepo, EnrollmentIndex enrollments) {
         this.repo = repo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.enrollments = enrollments;
     }
 
     @Operation(summary = "Tüm öğrencileri listele")
@@ -202,12 +211,21 @@ public class StudentController {
                             schema = @Schema(implementation = ApiError.class))
             )
     })
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@Parameter(description = "Öğrenci ID", example = "1") @PathVariable Long id) {
         if (!repo.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
+        enrollmentRepo.deleteByStudentId(id);
         repo.deleteById(id);
+        // Kayıt ve öğrenci silme aynı transaction'da; bellek içi indeks ancak commit olursa güncellenir
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enrollments.removeStudent(id);
+            }
+        });
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,354 @@
+package com.example.demo.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Ölçek testleri için sentetik veri üretici (--spring.profiles.active=datagen).
+// Ürün, öğrenci ve siparişler (kalemleriyle) açık ID'lerle, parça başına ayrı bağlantı ve JDBC batch
+// INSERT ile paralel yazılır. Her parça kendi seed'inden türetilen rastgele kaynakla üretildiği için
+// aynı seed ve sayılarla thread sayısından bağımsız olarak aynı veri çıkar.
+// Dağılımlar: kategoriler ve müşteriler Zipf ile çarpık, popüler ürünler daha sık sipariş edilir,
+// createdAt son N güne büyüme eğilimi ve gün içi yoğunluk eğrisiyle yayılır.
+// ApplicationRunner olarak ApplicationReadyEvent'ten önce çalışır; bellek içi sipariş/kayıt indeksleri
+// ardından üretilen veriden kurulur ve readiness üretim bitene kadar ACCEPTING_TRAFFIC olmaz.
+@Component
+@Profile("datagen")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final String[] CATEGORIES = {"Elektronik", "Giyim", "Ev", "Kitap", "Spor", "Kozmetik",
+            "Oyuncak", "Market", "Bahçe", "Otomotiv", "Müzik", "Ofis", "Bebek", "Evcil Hayvan", "Takı"};
+    private static final String[] FIRST_NAMES = {"Ali", "Ayşe", "Mehmet", "Fatma", "Ahmet", "Zeynep", "Mustafa",
+            "Elif", "Emre", "Merve", "Can", "Selin", "Burak", "Deniz", "Cem", "Ece", "Kerem", "İrem", "Onur", "Derya"};
+    private static final String[] LAST_NAMES = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Yıldırım",
+            "Öztürk", "Aydın", "Özdemir", "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt"};
+    private static final String[] ADJECTIVES = {"Pro", "Mini", "Max", "Lite", "Plus", "Eco", "Ultra", "Classic"};
+    private static final int PRICE_SALT = 100;
+    // Saat başına göreli sipariş yoğunluğu (00..23)
+    private static final double[] HOURLY_WEIGHTS = {1, 0.6, 0.4, 0.3, 0.3, 0.4, 0.8, 1.5, 2.5, 3.5, 4, 4.2,
+            4.5, 4.3, 4, 3.8, 3.9, 4.2, 4.8, 5.5, 6, 5.2, 3.5, 2};
+
+    private record Table(String name, long count, long firstId, int salt) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(PreparedStatement[] statements, long fromId, long toId, SplittableRandom random) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final long products;
+    private final long students;
+    private final long orders;
+    private final int customers;
+    private final double zipfExponent;
+    private final int maxLinesPerOrder;
+    private final int days;
+    private final String endDate;
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+    private final int chunkSize;
+    private final boolean skipIfPresent;
+
+    private double[] hourlyCdf;
+
+    public DataGenerator(DataSource dataSource,
+                         JdbcTemplate jdbc,
+                         @Value("${demo.datagen.products:1000000}") long products,
+                         @Value("${demo.datagen.students:1000000}") long students,
+                         @Value("${demo.datagen.orders:10000000}") long orders,
+                         @Value("${demo.datagen.customers:200000}") int customers,
+                         @Value("${demo.datagen.zipf-exponent:1.07}") double zipfExponent,
+                         @Value("${demo.datagen.max-lines-per-order:3}") int maxLinesPerOrder,
+                         @Value("${demo.datagen.days:365}") int days,
+                         @Value("${demo.datagen.end-date:}") String endDate,
+                         @Value("${demo.datagen.seed:42}") long seed,
+                         @Value("${demo.datagen.threads:0}") int threads,
+                         @Value("${demo.datagen.batch-size:5000}") int batchSize,
+                         @Value("${demo.datagen.chunk-size:100000}") int chunkSize,
+                         @Value("${demo.datagen.skip-if-present:true}") boolean skipIfPresent) {
+        this.dataSource = dataSource;
+        this.jdbc = jdbc;
+        this.products = products;
+        this.students = students;
+        this.orders = orders;
+        this.customers = Math.max(1, customers);
+        this.zipfExponent = zipfExponent;
+        this.maxLinesPerOrder = Math.max(0, maxLinesPerOrder);
+        this.days = Math.max(1, days);
+        this.endDate = endDate;
+        this.seed = seed;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = Math.max(1, batchSize);
+        this.chunkSize = Math.max(this.batchSize, chunkSize);
+        this.skipIfPresent = skipIfPresent;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Long existing = jdbc.queryForObject("select count(*) from orders", Long.class);
+        if (skipIfPresent && existing != null && existing > 0) {
+            log.info("Data generation skipped: orders table already has {} rows", existing);
+            return;
+        }
+        log.info("Data generation started: {} products, {} students, {} orders (seed {}, {} threads)",
+                products, students, orders, seed, threads);
+        long start = System.nanoTime();
+
+        Table productTable = new Table("product", products, nextId("product"), 1);
+        Table studentTable = new Table("student", students, nextId("student"), 2);
+        Table orderTable = new Table("orders", orders, nextId("orders"), 3);
+
+        // Üretilen veri tutarlı olduğundan yükleme boyunca yabancı anahtar kontrolleri kapatılır; ikincil
+        // indeksler yüklemeden önce düşürülür ve sonunda tek seferde kurulur (satır satır güncellemeden hızlı)
+        List<String> indexes = new ArrayList<>(dropSecondaryIndexes("ORDERS"));
+        indexes.addAll(dropSecondaryIndexes("ORDER_LINE"));
+        jdbc.execute("set referential_integrity false");
+        try {
+            generate(productTable, studentTable, orderTable);
+        } finally {
+            jdbc.execute("set referential_integrity true");
+            long indexStart = System.nanoTime();
+            indexes.forEach(jdbc::execute);
+            log.info("Rebuilt {} secondary indexes in {} ms", indexes.size(), (System.nanoTime() - indexStart) / 1_000_000);
+        }
+
+        for (Table table : List.of(productTable, studentTable, orderTable)) {
+            jdbc.execute("alter table " + table.name() + " alter column id restart with " + (table.firstId() + table.count()));
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        Long lineRows = jdbc.queryForObject("select count(*) from order_line", Long.class);
+        long rows = products + students + orders + (lineRows == null ? 0 : lineRows);
+        log.info("Data generation finished: {} rows in {} ms ({} rows/min)", rows, elapsedMs, rows * 60_000 / elapsedMs);
+    }
+
+    private void generate(Table productTable, Table studentTable, Table orderTable) throws InterruptedException {
+        ZipfDistribution categoryRanks = new ZipfDistribution(CATEGORIES.length, zipfExponent);
+        load(productTable, new String[]{"insert into product (id, name, category, price, stock) values (?, ?, ?, ?, ?)"},
+                (ps, from, to, random) -> {
+                    for (long id = from; id < to; id++) {
+                        ps[0].setLong(1, id);
+                        ps[0].setString(2, ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " Ürün " + id);
+                        ps[0].setString(3, CATEGORIES[categoryRanks.sample(random) - 1]);
+                        ps[0].setDouble(4, price(productTable, id));
+                        ps[0].setInt(5, random.nextInt(10) == 0 ? 0 : random.nextInt(1, 500));
+                        addBatch(ps[0], id - from);
+                    }
+                });
+
+        load(studentTable, new String[]{"insert into student (id, first_name, last_name, email) values (?, ?, ?, ?)"},
+                (ps, from, to, random) -> {
+                    for (long id = from; id < to; id++) {
+                        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                        ps[0].setLong(1, id);
+                        ps[0].setString(2, first);
+                        ps[0].setString(3, last);
+                        ps[0].setString(4, "student" + id + "@example.com");
+                        addBatch(ps[0], id - from);
+                    }
+                });
+
+        ZipfDistribution customerRanks = new ZipfDistribution(customers, zipfExponent);
+        ZipfDistribution productRanks = products > 0 ? new ZipfDistribution(Math.toIntExact(products), zipfExponent) : null;
+        LocalDateTime end = (endDate.isBlank() ? LocalDate.now().plusDays(1) : LocalDate.parse(endDate).plusDays(1)).atStartOfDay();
+        hourlyCdf = cumulative(HOURLY_WEIGHTS);
+        load(orderTable, new String[]{
+                        "insert into orders (id, order_number, customer_name, total_amount, status, created_at) values (?, ?, ?, ?, ?, ?)",
+                        "insert into order_line (order_id, product_id, quantity, unit_price) values (?, ?, ?, ?)"},
+                (ps, from, to, random) -> {
+                    for (long id = from; id < to; id++) {
+                        double total = 0;
+                        int lineCount = productRanks == null || maxLinesPerOrder == 0 ? 0 : random.nextInt(1, maxLinesPerOrder + 1);
+                        for (int l = 0; l < lineCount; l++) {
+                            // Popüler ürünler sıraya göre dağıtılır, ürün ID'si sırayla karıştırılmaz
+                            long productId = productTable.firstId() + productRanks.sample(random) - 1;
+                            int quantity = random.nextInt(5) == 0 ? random.nextInt(2, 6) : 1;
+                            double unitPrice = price(productTable, productId);
+                            total += unitPrice * quantity;
+                            ps[1].setLong(1, id);
+                            ps[1].setLong(2, productId);
+                            ps[1].setInt(3, quantity);
+                            ps[1].setDouble(4, unitPrice);
+                            ps[1].addBatch();
+                        }
+                        if (lineCount == 0) {
+                            total = Math.exp(random.nextDouble(2, 9));
+                        }
+                        ps[0].setLong(1, id);
+                        ps[0].setString(2, "GEN-" + id);
+                        ps[0].setString(3, "Customer-" + customerRanks.sample(random));
+                        ps[0].setDouble(4, Math.round(total * 100) / 100.0);
+                        ps[0].setString(5, status(random));
+                        ps[0].setTimestamp(6, Timestamp.valueOf(createdAt(end, random)));
+                        ps[0].addBatch();
+                        if ((id - from + 1) % batchSize == 0) {
+                            // Siparişler kalemlerden önce yazılır (order_line.order_id yabancı anahtarı)
+                            ps[0].executeBatch();
+                            ps[1].executeBatch();
+                        }
+                    }
+                });
+    }
+
+    // Kısıt veya birincil anahtara ait olmayan indeksleri düşürür, yeniden oluşturma ifadelerini döner
+    private List<String> dropSecondaryIndexes(String table) {
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        jdbc.query("""
+                        select c.index_name, c.column_name, c.ordering_specification
+                        from information_schema.index_columns c
+                        join information_schema.indexes i
+                          on i.index_schema = c.index_schema and i.index_name = c.index_name
+                        where i.table_schema = 'PUBLIC' and i.table_name = ?
+                          and i.index_type_name = 'INDEX' and i.is_generated = false
+                          and not exists (select 1 from information_schema.table_constraints t
+                                          where t.index_schema = i.index_schema and t.index_name = i.index_name)
+                        order by c.index_name, c.ordinal_position""",
+                rs -> {
+                    columns.computeIfAbsent(rs.getString(1), k -> new ArrayList<>())
+                            .add('"' + rs.getString(2) + "\" " + rs.getString(3));
+                }, table);
+        List<String> creates = new ArrayList<>();
+        columns.forEach((index, cols) -> {
+            jdbc.execute("drop index \"" + index + '"');
+            creates.add("create index \"" + index + "\" on \"" + table + "\" (" + String.join(", ", cols) + ")");
+        });
+        return creates;
+    }
+
+    private long nextId(String table) {
+        Long max = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        return (max == null ? 0 : max) + 1;
+    }
+
+    private void load(Table table, String[] sql, ChunkWriter writer) throws InterruptedException {
+        if (table.count() <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Future<?>> chunks = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (long from = 0; from < table.count(); from += chunkSize) {
+                long chunk = from / chunkSize;
+                long fromId = table.firstId() + from;
+                long toId = table.firstId() + Math.min(table.count(), from + chunkSize);
+                chunks.add(pool.submit(() -> {
+                    writeChunk(sql, writer, fromId, toId, new SplittableRandom(mix(seed, table.salt(), chunk)));
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Data generation failed for " + table.name(), e.getCause());
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Generated {} {} rows in {} ms ({} rows/min)", table.count(), table.name(), elapsedMs,
+                table.count() * 60_000 / elapsedMs);
+    }
+
+    private void writeChunk(String[] sql, ChunkWriter writer, long fromId, long toId, SplittableRandom random) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            PreparedStatement[] statements = new PreparedStatement[sql.length];
+            try {
+                for (int i = 0; i < sql.length; i++) {
+                    statements[i] = connection.prepareStatement(sql[i]);
+                }
+                writer.write(statements, fromId, toId, random);
+                for (PreparedStatement statement : statements) {
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                for (PreparedStatement statement : statements) {
+                    if (statement != null) {
+                        statement.close();
+                    }
+                }
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private void addBatch(PreparedStatement statement, long index) throws SQLException {
+        statement.addBatch();
+        if ((index + 1) % batchSize == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    // Fiyat ürün ID'sinden türetilir; sipariş kalemleri ürünü okumadan aynı birim fiyatı kullanır
+    private double price(Table productTable, long productId) {
+        SplittableRandom random = new SplittableRandom(mix(seed, PRICE_SALT, productId - productTable.firstId()));
+        return Math.round(Math.exp(random.nextDouble(Math.log(5), Math.log(50_000))) * 100) / 100.0;
+    }
+
+    private static String status(SplittableRandom random) {
+        int p = random.nextInt(100);
+        return p < 70 ? "PAID" : p < 88 ? "CREATED" : "CANCELED";
+    }
+
+    private LocalDateTime createdAt(LocalDateTime end, SplittableRandom random) {
+        // sqrt ile yakın günler daha yoğun (doğrusal büyüme), saat gün içi eğriden
+        int daysAgo = (int) ((1 - Math.sqrt(random.nextDouble())) * days);
+        int index = Arrays.binarySearch(hourlyCdf, random.nextDouble());
+        int hour = Math.min(index >= 0 ? index : -index - 1, 23);
+        return end.minusDays(daysAgo + 1L).plusHours(hour).plusSeconds(random.nextInt(3600));
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static long mix(long seed, int salt, long value) {
+        long h = seed * 0x9E3779B97F4A7C15L + salt * 0xC2B2AE3D27D4EB4FL + value;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// 1..n sıralarından Zipf(s) dağılımına göre örnek çeker: k. sıranın olasılığı 1/k^s ile orantılıdır.
+// Kümülatif dağılım bir kez hesaplanır, her örnek ikili aramadır; n milyon mertebesinde birkaç MB tutar.
+public class ZipfDistribution {
+
+    private final double[] cdf;
+
+    public ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1.0 / Math.pow(k, exponent);
+            cdf[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+
+    // 1 tabanlı sıra döner
+    public int sample(SplittableRandom random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        int index = i >= 0 ? i : -i - 1;
+        return Math.min(index, cdf.length - 1) + 1;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.demo.enrollment;
+
+import com.example.demo.util.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Kayıtların bellek içi indeksi: ders -> öğrenci ID bitmap'i ve öğrenci -> ders ID bitmap'i.
+// Küme sorguları (kesişim, fark, birleşim) join taraması yapmadan bitmap'ler üzerinde cevaplanır.
+// Kalıcı kaynak enrollment tablosudur; indeks açılışta oradan yeniden kurulur.
+@Component
+public class EnrollmentIndex {
+
+    private final JdbcTemplate jdbc;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, RoaringBitmap> studentsByCourse = new HashMap<>();
+    private Map<Long, RoaringBitmap> coursesByStudent = new HashMap<>();
+
+    public EnrollmentIndex(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // WarmupRunner (LOWEST_PRECEDENCE) başlamadan önce kurulmuş olmalı
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, RoaringBitmap> byCourse = new HashMap<>();
+        Map<Long, RoaringBitmap> byStudent = new HashMap<>();
+        jdbc.query("select course_id, student_id from enrollment", rs -> {
+            long courseId = rs.getLong(1);
+            long studentId = rs.getLong(2);
+            byCourse.computeIfAbsent(courseId, k -> new RoaringBitmap()).add(Math.toIntExact(studentId));
+            byStudent.computeIfAbsent(studentId, k -> new RoaringBitmap()).add(Math.toIntExact(courseId));
+        });
+        lock.writeLock().lock();
+        try {
+            studentsByCourse = byCourse;
+            coursesByStudent = byStudent;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isEnrolled(Long courseId, Long studentId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap students = studentsByCourse.get(courseId);
+            return students != null && students.contains(Math.toIntExact(studentId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Long courseId, Long studentId) {
+        lock.writeLock().lock();
+        try {
+            studentsByCourse.computeIfAbsent(courseId, k -> new RoaringBitmap()).add(Math.toIntExact(studentId));
+            coursesByStudent.computeIfAbsent(studentId, k -> new RoaringBitmap()).add(Math.toIntExact(courseId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long courseId, Long studentId) {
+        lock.writeLock().lock();
+        try {
+            removeFrom(studentsByCourse, courseId, studentId);
+            removeFrom(coursesByStudent, studentId, courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCourse(Long courseId) {
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap students = studentsByCourse.remove(courseId);
+            if (students != null) {
+                students.forEach(studentId -> removeFrom(coursesByStudent, (long) studentId, courseId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeStudent(Long studentId) {
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap courses = coursesByStudent.remove(studentId);
+            if (courses != null) {
+                courses.forEach(courseId -> removeFrom(studentsByCourse, (long) courseId, studentId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public RoaringBitmap studentsOf(Long courseId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap students = studentsByCourse.get(courseId);
+            return students != null ? students.copy() : new RoaringBitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RoaringBitmap coursesOf(Long studentId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap courses = coursesByStudent.get(studentId);
+            return courses != null ? courses.copy() : new RoaringBitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // all: hepsine kayıtlı, any: en az birine kayıtlı, none: hiçbirine kayıtlı olmayan öğrenciler
+    public RoaringBitmap query(Collection<Long> all, Collection<Long> any, Collection<Long> none) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            for (Long courseId : all) {
+                RoaringBitmap students = studentsByCourse.getOrDefault(courseId, new RoaringBitmap());
+                result = result == null ? students.copy() : result.and(students);
+            }
+            if (!any.isEmpty()) {
+                RoaringBitmap union = new RoaringBitmap();
+                for (Long courseId : any) {
+                    RoaringBitmap students = studentsByCourse.get(courseId);
+                    if (students != null) {
+                        union = union.or(students);
+                    }
+                }
+                result = result == null ? union : result.and(union);
+            }
+            if (result == null) {
+                return new RoaringBitmap();
+            }
+            for (Long courseId : none) {
+                RoaringBitmap students = studentsByCourse.get(courseId);
+                if (students != null) {
+                    result = result.andNot(students);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            long enrollments = 0;
+            long bytes = 0;
+            for (RoaringBitmap students : studentsByCourse.values()) {
+                enrollments += students.cardinality();
+                bytes += students.sizeInBytes();
+            }
+            for (RoaringBitmap courses : coursesByStudent.values()) {
+                bytes += courses.sizeInBytes();
+            }
+            return Map.of("courses", studentsByCourse.size(), "students", coursesByStudent.size(),
+                    "enrollments", enrollments, "bitmapBytes", bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void removeFrom(Map<Long, RoaringBitmap> index, Long key, Long value) {
+        RoaringBitmap bitmap = index.get(key);
+        if (bitmap != null) {
+            bitmap.remove(Math.toIntExact(value));
+            if (bitmap.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -18,7 +18,7 @@ public class AppUser {
 
     @Column(nullable = false)
     @NotBlank(message = "password must not be blank")
-    private String password;// Demo: plain text
+    private String password;// PasswordHasher biçimi; eski kayıtlarda düz metin olabilir
 
     private String fullName;
 
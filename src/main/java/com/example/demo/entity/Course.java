@@ -1,8 +1,10 @@
 package com.example.demo.entity;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 
@@ -19,6 +21,9 @@ public class Course {
     @NotBlank(message = "title must not be blank")
     private String title;
 
+    // CourseDescription tablosunda sıkıştırılmış saklanır; listelerde yüklenmez ve JSON'a yazılmaz
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
 
     @Positive(message = "credit must be positive")
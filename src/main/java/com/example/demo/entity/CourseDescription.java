@@ -0,0 +1,47 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+// Ders açıklaması ayrı tabloda, sıkıştırılmış LOB olarak tutulur; Course satırı okunurken gelmez,
+// yalnızca detay görünümünde ID ile yüklenir.
+@Entity
+@Table(name = "course_description")
+public class CourseDescription {
+
+    @Id
+    private Long courseId;
+
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false)
+    private String text;
+
+    public CourseDescription() {
+    }
+
+    public CourseDescription(Long courseId, String text) {
+        this.courseId = courseId;
+        this.text = text;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
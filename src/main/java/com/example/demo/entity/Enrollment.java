@@ -0,0 +1,68 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_course_student", columnNames = {"courseId", "studentId"}),
+        indexes = @Index(name = "idx_enrollment_student", columnList = "studentId")
+)
+public class Enrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "courseId must not be null")
+    private Long courseId;
+
+    @NotNull(message = "studentId must not be null")
+    private Long studentId;
+
+    private LocalDateTime enrolledAt;
+
+    public Enrollment() {
+    }
+
+    public Enrollment(Long id, Long courseId, Long studentId, LocalDateTime enrolledAt) {
+        this.id = id;
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.enrolledAt = enrolledAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public LocalDateTime getEnrolledAt() {
+        return enrolledAt;
+    }
+
+    public void setEnrolledAt(LocalDateTime enrolledAt) {
+        this.enrolledAt = enrolledAt;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Yazma işlemiyle aynı transaction içinde eklenen değişiklik kaydı; diğer node'lar bu tabloyu takip ederek
+// yerel cache'lerini geçersiz kılar.
+@Entity
+@Table(name = "entity_change_log", indexes = @Index(name = "idx_entity_change_log_changed_at", columnList = "changedAt"))
+public class EntityChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public EntityChange() {
+    }
+
+    public EntityChange(String entityType, Long entityId, LocalDateTime changedAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
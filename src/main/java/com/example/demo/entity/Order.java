@@ -1,13 +1,26 @@
 package com.example.demo.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(
+        name = "orders",
+        uniqueConstraints = @UniqueConstraint(name = "uk_orders_order_number", columnNames = "orderNumber"),
+        indexes = {
+                @Index(name = "idx_orders_customer_name", columnList = "customerName"),
+                @Index(name = "idx_orders_status_amount", columnList = "status, totalAmount"),
+                @Index(name = "idx_orders_total_amount", columnList = "totalAmount"),
+                @Index(name = "idx_orders_created_at", columnList = "createdAt")
+        }
+)
 public class Order {
 
     @Id
@@ -26,6 +39,14 @@ public class Order {
     private String status;          // Örn: CREATED, PAID, CANCELED
     private LocalDateTime createdAt;
 
+    // Liste/detay uç noktaları entity graph ile tek sorguda yükler; diğer yollarda
+    // (arama, sipariş numarası) kalemler sayfa başına tek sorguda toplu çekilir.
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @BatchSize(size = 100)
+    @Valid
+    private List<OrderLine> lines = new ArrayList<>();
+
     public Order() {
     }
 
@@ -86,4 +107,12 @@ public class Order {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public List<OrderLine> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLine> lines) {
+        this.lines = lines;
+    }
 }
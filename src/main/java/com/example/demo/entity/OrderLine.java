@@ -0,0 +1,114 @@
+package com.example.demo.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// Sipariş kalemi. İstekte sadece productId ve quantity gelir; unitPrice sipariş anında ürünün fiyatından alınır.
+@Entity
+@Table(
+        name = "order_line",
+        indexes = {
+                @Index(name = "idx_order_line_order", columnList = "order_id"),
+                @Index(name = "idx_order_line_product", columnList = "product_id")
+        }
+)
+@JsonPropertyOrder({"id", "productId", "productName", "quantity", "unitPrice"})
+public class OrderLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Toplu zaman kovası silme (JDBC) kalemleri de götürsün diye FK "on delete cascade"
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Order order;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @Transient
+    private Long productId;
+
+    @NotNull(message = "quantity must not be null")
+    @Positive(message = "quantity must be positive")
+    private Integer quantity;
+
+    private Double unitPrice;
+
+    public OrderLine() {
+    }
+
+    public OrderLine(Long id, Order order, Product product, Integer quantity, Double unitPrice) {
+        this.id = id;
+        this.order = order;
+        this.product = product;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @JsonIgnore
+    public Order getOrder() {
+        return order;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    @JsonIgnore
+    public Product getProduct() {
+        return product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    @NotNull(message = "productId must not be null")
+    public Long getProductId() {
+        return product != null ? product.getId() : productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getProductName() {
+        return product != null ? product.getName() : null;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Double getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(Double unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.event;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.OrderLine;
+import com.example.demo.entity.Product;
+
+import java.util.Objects;
+
+// previous/current alanları entity'nin o anki kopyasıdır; dinleyiciler managed entity'ye dokunmaz.
+public record OrderChangedEvent(Type type, Order previous, Order current) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static OrderChangedEvent created(Order order) {
+        return new OrderChangedEvent(Type.CREATED, null, snapshot(order));
+    }
+
+    public static OrderChangedEvent updated(Order previous, Order current) {
+        return new OrderChangedEvent(Type.UPDATED, previous, snapshot(current));
+    }
+
+    public static OrderChangedEvent deleted(Order order) {
+        return new OrderChangedEvent(Type.DELETED, snapshot(order), null);
+    }
+
+    public static Order snapshot(Order order) {
+        Order copy = new Order(order.getId(), order.getOrderNumber(), order.getCustomerName(),
+                order.getTotalAmount(), order.getStatus(), order.getCreatedAt());
+        for (OrderLine line : order.getLines()) {
+            Product product = line.getProduct();
+            Product productCopy = product == null ? null : new Product(product.getId(), product.getName(),
+                    product.getCategory(), product.getPrice(), product.getStock());
+            copy.getLines().add(new OrderLine(line.getId(), copy, productCopy, line.getQuantity(), line.getUnitPrice()));
+        }
+        return copy;
+    }
+
+    public Long orderId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+
+    public boolean statusChanged() {
+        return previous != null && current != null
+                && !Objects.equals(previous.getStatus(), current.getStatus());
+    }
+}
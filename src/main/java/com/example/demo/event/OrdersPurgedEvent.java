@@ -0,0 +1,7 @@
+package com.example.demo.event;
+
+import java.time.LocalDateTime;
+
+// createdAt < before olan siparişler toplu olarak silindi (tek tek OrderChangedEvent yayınlanmaz)
+public record OrdersPurgedEvent(LocalDateTime before, long deletedOrders) {
+}
@@ -0,0 +1,29 @@
+package com.example.demo.exception;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hata tipine göre sayaçlar; hata fırtınasında da kilitsiz artırılır.
+@Component
+public class ErrorMetrics {
+
+    private final ConcurrentHashMap<Class<?>, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public void record(Throwable ex) {
+        counters.computeIfAbsent(ex.getClass(), type -> new LongAdder()).increment();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((type, count) -> result.put(type.getSimpleName(), count.sum()));
+        return result;
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.demo.exception;
 
+import com.example.demo.auth.PasswordHasher;
+import com.example.demo.importer.BulkImporter;
+import com.example.demo.util.SingleFlight;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -10,59 +16,133 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
-import java.util.stream.Collectors;
+import java.util.List;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final int BAD_REQUEST = HttpStatus.BAD_REQUEST.value();
+    private static final String BAD_REQUEST_REASON = "Bad Request";
+    private static final int CONFLICT = HttpStatus.CONFLICT.value();
+    private static final String CONFLICT_REASON = "Conflict";
+    private static final int UNAVAILABLE = HttpStatus.SERVICE_UNAVAILABLE.value();
+    private static final String UNAVAILABLE_REASON = "Service Unavailable";
+    private static final int INTERNAL_ERROR = HttpStatus.INTERNAL_SERVER_ERROR.value();
+    private static final String INTERNAL_ERROR_REASON = "Internal Server Error";
+
+    // Hata fırtınasında en sık görülen, mesajı sabit iki cevap: gövde önceden JSON'a çevrilmiş,
+    // istek başına sadece timestamp ve path eklenir
+    private static final PrecomputedErrorBody MALFORMED_BODY =
+            new PrecomputedErrorBody(BAD_REQUEST, BAD_REQUEST_REASON, "Request body is invalid or malformed");
+    private static final PrecomputedErrorBody CONFLICT_BODY =
+            new PrecomputedErrorBody(CONFLICT, CONFLICT_REASON, "Request conflicts with existing data");
+
+    private final ErrorMetrics metrics;
+    private final SampledErrorLogger errorLogger;
+
+    public GlobalExceptionHandler(ErrorMetrics metrics, SampledErrorLogger errorLogger) {
+        this.metrics = metrics;
+        this.errorLogger = errorLogger;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidationException(MethodArgumentNotValidException ex,
                                                               HttpServletRequest request) {
-
-        String fieldErrors = ex.getBindingResult().getFieldErrors().stream()
-                .map(FieldError::getDefaultMessage)
-                .collect(Collectors.joining(", "));
+        metrics.record(ex);
 
         ApiError apiError = new ApiError(
                 LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                "Bad Request",
-                fieldErrors,
+                BAD_REQUEST,
+                BAD_REQUEST_REASON,
+                joinMessages(ex.getBindingResult().getFieldErrors()),
                 request.getRequestURI()
         );
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+        return ResponseEntity.status(BAD_REQUEST).body(apiError);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<ApiError> handleNotReadable(HttpMessageNotReadableException ex,
-                                                      HttpServletRequest request) {
+    public ResponseEntity<byte[]> handleNotReadable(HttpMessageNotReadableException ex,
+                                                    HttpServletRequest request) {
+        metrics.record(ex);
+
+        return ResponseEntity.status(BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(MALFORMED_BODY.render(LocalDateTime.now(), request.getRequestURI()));
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<byte[]> handleConflict(DataIntegrityViolationException ex,
+                                                 HttpServletRequest request) {
+        metrics.record(ex);
+
+        return ResponseEntity.status(CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(CONFLICT_BODY.render(LocalDateTime.now(), request.getRequestURI()));
+    }
+
+    @ExceptionHandler(BulkImporter.DuplicateJobException.class)
+    public ResponseEntity<ApiError> handleDuplicateImport(BulkImporter.DuplicateJobException ex,
+                                                          HttpServletRequest request) {
+        metrics.record(ex);
 
         ApiError apiError = new ApiError(
                 LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                "Bad Request",
-                "Request body is invalid or malformed",
+                CONFLICT,
+                CONFLICT_REASON,
+                ex.getMessage(),
                 request.getRequestURI()
         );
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+        return ResponseEntity.status(CONFLICT).body(apiError);
+    }
+
+    // Şifre hash havuzu dolu veya birleştirilmiş okuma zaman aşımına uğradı: istemci kısa süre sonra tekrar denemeli
+    @ExceptionHandler({PasswordHasher.OverloadedException.class, SingleFlight.TimeoutException.class})
+    public ResponseEntity<ApiError> handleTemporarilyUnavailable(RuntimeException ex,
+                                                                 HttpServletRequest request) {
+        metrics.record(ex);
+
+        ApiError apiError = new ApiError(
+                LocalDateTime.now(),
+                UNAVAILABLE,
+                UNAVAILABLE_REASON,
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(apiError);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGenericException(Exception ex,
                                                            HttpServletRequest request) {
+        metrics.record(ex);
 
         ApiError apiError = new ApiError(
                 LocalDateTime.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Internal Server Error",
+                INTERNAL_ERROR,
+                INTERNAL_ERROR_REASON,
                 ex.getMessage(),  // derslerde göstermek için bırakabilirsin, prod'da gizlenir genelde
                 request.getRequestURI()
         );
 
-        ex.printStackTrace();
+        errorLogger.log(ex, request.getRequestURI());
+
+        return ResponseEntity.status(INTERNAL_ERROR).body(apiError);
+    }
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(apiError);
+    private static String joinMessages(List<FieldError> fieldErrors) {
+        if (fieldErrors.size() == 1) {
+            return fieldErrors.get(0).getDefaultMessage();
+        }
+        StringBuilder sb = new StringBuilder(fieldErrors.size() * 32);
+        for (int i = 0; i < fieldErrors.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(fieldErrors.get(i).getDefaultMessage());
+        }
+        return sb.toString();
     }
 }
@@ -0,0 +1,46 @@
+package com.example.demo.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Mesajı sabit olan hata cevapları için ApiError JSON'unun değişmeyen kısmı bir kez üretilir;
+// istek başına sadece timestamp ve path araya eklenir, ApiError nesnesi ve ObjectMapper kullanılmaz.
+// Alan sırası ve timestamp biçimi Jackson'ın ApiError çıktısıyla aynıdır (ISO-8601, WRITE_DATES_AS_TIMESTAMPS kapalı).
+final class PrecomputedErrorBody {
+
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+    private static final byte[] OPEN = "{\"timestamp\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PATH = ",\"path\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLOSE = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] middle;
+
+    PrecomputedErrorBody(int status, String error, String message) {
+        this.middle = ("\",\"status\":" + status
+                + ",\"error\":\"" + new String(ENCODER.quoteAsString(error))
+                + "\",\"message\":\"" + new String(ENCODER.quoteAsString(message)) + "\"")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    byte[] render(LocalDateTime timestamp, String path) {
+        byte[] time = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp).getBytes(StandardCharsets.US_ASCII);
+        byte[] quotedPath = ENCODER.quoteAsUTF8(path);
+        byte[] body = new byte[OPEN.length + time.length + middle.length + PATH.length + quotedPath.length + CLOSE.length];
+        int pos = 0;
+        pos = put(body, pos, OPEN);
+        pos = put(body, pos, time);
+        pos = put(body, pos, middle);
+        pos = put(body, pos, PATH);
+        pos = put(body, pos, quotedPath);
+        put(body, pos, CLOSE);
+        return body;
+    }
+
+    private static int put(byte[] target, int pos, byte[] part) {
+        System.arraycopy(part, 0, target, pos, part.length);
+        return pos + part.length;
+    }
+}
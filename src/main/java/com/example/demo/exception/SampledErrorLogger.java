@@ -0,0 +1,73 @@
+package com.example.demo.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Beklenmeyen hataların stack trace'ini saniyede en fazla N kez loglar.
+// "full" modunda her hata loglanır (eski davranış, ama stdout yerine logger üzerinden).
+@Component
+public class SampledErrorLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final boolean sampled;
+    private final int tracesPerSecond;
+
+    // Üst 32 bit: saniye, alt 32 bit: o saniyede loglanan trace sayısı. Tek CAS ile güncellenir,
+    // böylece pencere sıfırlanırken başka thread'lerin artışları kaybolmaz
+    private final AtomicLong window = new AtomicLong();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder totalSuppressed = new LongAdder();
+
+    public SampledErrorLogger(@Value("${demo.errors.log-mode:sampled}") String mode,
+                              @Value("${demo.errors.stack-traces-per-second:5}") int tracesPerSecond) {
+        this.sampled = !"full".equalsIgnoreCase(mode);
+        this.tracesPerSecond = tracesPerSecond;
+    }
+
+    public void log(Throwable ex, String path) {
+        if (!sampled) {
+            log.error("Unhandled exception on {}", path, ex);
+            return;
+        }
+        if (tryAcquire()) {
+            long skipped = suppressed.sumThenReset();
+            if (skipped > 0) {
+                log.error("Unhandled exception on {} ({} stack traces suppressed since last report)", path, skipped, ex);
+            } else {
+                log.error("Unhandled exception on {}", path, ex);
+            }
+        } else {
+            suppressed.increment();
+            totalSuppressed.increment();
+        }
+    }
+
+    public long suppressedCount() {
+        return totalSuppressed.sum();
+    }
+
+    public void resetCounts() {
+        suppressed.reset();
+        totalSuppressed.reset();
+    }
+
+    private boolean tryAcquire() {
+        long second = (System.nanoTime() / 1_000_000_000L) & 0xFFFF_FFFFL;
+        while (true) {
+            long state = window.get();
+            long used = state >>> 32 == second ? state & 0xFFFF_FFFFL : 0;
+            if (used >= tracesPerSecond) {
+                return false;
+            }
+            if (window.compareAndSet(state, second << 32 | (used + 1))) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.demo.idempotency;
+
+import com.example.demo.exception.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Idempotency-Key başlığı taşıyan POST istekleri: aynı anahtarla gelen tekrarlar controller'a ve
+// veritabanına gitmeden ilk cevabı alır; eşzamanlı kopyalar ilk çalıştırmanın bitmesini bekler.
+// Anahtar istek yolu ile birlikte tutulur, yani farklı endpoint'lerde aynı anahtar çakışmaz.
+// Gövdenin özeti de saklanır; aynı anahtar farklı bir gövdeyle tekrar kullanılırsa 422 döner.
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper mapper;
+    private final long waitTimeoutNanos;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper mapper,
+                             @Value("${demo.idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis) {
+        this.store = store;
+        this.mapper = mapper;
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST, HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String scopedKey = request.getRequestURI() + '\n' + key;
+
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+        CompletableFuture<IdempotencyStore.StoredResponse> first;
+        while ((first = store.begin(scopedKey)) != null) {
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = first.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "A request with this " + HEADER + " is still being processed");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for in-flight request", e);
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            if (stored != null) {
+                // Tekrar çalıştırılmayacağı için gövdeyi burada tüketmek güvenli
+                if (!MessageDigest.isEqual(stored.requestHash(), hash(request.getInputStream()))) {
+                    store.recordMismatch();
+                    writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                            HEADER + " was already used with a different request body");
+                    return;
+                }
+                replay(stored, response);
+                return;
+            }
+            // İlk çalıştırma başarısız oldu; anahtar boşaldı, sahiplenmeyi tekrar dene
+        }
+
+        // Gövde controller tarafından okunurken özetlenir; istek tamponlanmaz (import akışları büyük olabilir)
+        DigestingRequestWrapper digesting = new DigestingRequestWrapper(request);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(digesting, wrapper);
+            if (wrapper.getStatus() < 500) {
+                store.complete(scopedKey, new IdempotencyStore.StoredResponse(wrapper.getStatus(),
+                        wrapper.getContentType(), wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray(),
+                        digesting.finish()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.abandon(scopedKey);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static byte[] hash(InputStream body) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buf = new byte[8192];
+        int n;
+        while ((n = body.read(buf)) != -1) {
+            digest.update(buf, 0, n);
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // getInputStream/getReader üzerinden okunan her baytı özete ekler
+    private static final class DigestingRequestWrapper extends HttpServletRequestWrapper {
+
+        private final MessageDigest digest = sha256();
+        private ServletInputStream stream;
+        private BufferedReader reader;
+
+        DigestingRequestWrapper(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                ServletInputStream in = super.getInputStream();
+                stream = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int b = in.read();
+                        if (b != -1) {
+                            digest.update((byte) b);
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int n = in.read(b, off, len);
+                        if (n > 0) {
+                            digest.update(b, off, n);
+                        }
+                        return n;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return in.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return in.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                        in.setReadListener(listener);
+                    }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                        encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1));
+            }
+            return reader;
+        }
+
+        // Controller gövdenin tamamını okumadıysa (ör. doğrulama hatası) kalanı da özete katılır
+        byte[] finish() throws IOException {
+            InputStream in = getInputStream();
+            byte[] buf = new byte[8192];
+            while (in.read(buf) != -1) {
+                // yalnızca özet için tüketiliyor
+            }
+            return digest.digest();
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getOutputStream(),
+                new ApiError(LocalDateTime.now(), status.value(), status.getReasonPhrase(), message, request.getRequestURI()));
+    }
+}
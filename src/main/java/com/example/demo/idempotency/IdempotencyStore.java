@@ -0,0 +1,123 @@
+package com.example.demo.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Idempotency-Key -> ilk çalıştırmanın cevabı. Bir anahtar için aynı anda tek bir sahip vardır;
+// diğer istekler sahibinin future'ını bekler. Tamamlanan girişler ttl sonunda düşer,
+// giriş sayısı maxEntries ile sınırlıdır.
+@Component
+public class IdempotencyStore {
+
+    // requestHash: ilk isteğin gövdesinin SHA-256 özeti; aynı anahtarla farklı gövde gelirse karşılaştırılır
+    public record StoredResponse(int status, String contentType, String location, byte[] body, byte[] requestHash) {
+    }
+
+    private static final class Entry {
+        final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE;
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder mismatched = new LongAdder();
+
+    public IdempotencyStore(@Value("${demo.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${demo.idempotency.ttl-ms:3600000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    // null: çağıran anahtarın sahibi oldu ve isteği çalıştırmalı.
+    // Aksi halde ilk çalıştırmanın sonucu (başarısız olursa null ile tamamlanır).
+    public CompletableFuture<StoredResponse> begin(String key) {
+        if (entries.size() >= maxEntries) {
+            purgeExpired();
+            if (entries.size() >= maxEntries) {
+                evictSome();
+            }
+        }
+        Entry mine = new Entry();
+        long now = System.nanoTime();
+        Entry current = entries.compute(key, (k, existing) ->
+                existing == null || now - existing.expiresAt > 0 ? mine : existing);
+        if (current == mine) {
+            executed.increment();
+            return null;
+        }
+        if (current.result.isDone()) {
+            replayed.increment();
+        } else {
+            waited.increment();
+        }
+        return current.result;
+    }
+
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.expiresAt = System.nanoTime() + ttlNanos;
+            entry.result.complete(response);
+        }
+    }
+
+    // 5xx veya istisna: sonuç saklanmaz, bekleyenler yeniden sahiplenmeyi dener
+    public void abandon(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            abandoned.increment();
+            entry.result.complete(null);
+        }
+    }
+
+    public void recordMismatch() {
+        mismatched.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${demo.idempotency.purge-ms:60000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.expiresAt > 0);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("executed", executed.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("waitedForInFlight", waited.sum());
+        stats.put("abandoned", abandoned.sum());
+        stats.put("evicted", evicted.sum());
+        stats.put("payloadMismatch", mismatched.sum());
+        return stats;
+    }
+
+    // Sadece tamamlanmış girişler atılır; devam eden bir isteğin anahtarı asla kaybolmaz
+    private void evictSome() {
+        int toRemove = Math.max(1, maxEntries / 10);
+        Iterator<Entry> it = entries.values().iterator();
+        while (toRemove > 0 && it.hasNext()) {
+            if (it.next().result.isDone()) {
+                it.remove();
+                evicted.increment();
+                toRemove--;
+            }
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.example.demo.importer;
+
+import com.example.demo.jfr.ValidationEvent;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Akış halinde toplu içe aktarma hattı:
+//   istek thread'i satır satır parse eder -> sabit boyutlu havuzda paralel Bean Validation ->
+//   sınırlı kuyruk -> tek yazıcı JDBC batch INSERT.
+// Kuyruk dolduğunda doğrulayıcılar, doğrulayıcılar dolduğunda parser bekler (back-pressure);
+// böylece dosyanın boyutundan bağımsız olarak bellekte en fazla queueCapacity satır bulunur.
+// Paralel doğrulama nedeniyle satırların eklenme sırası dosyadaki sıra ile aynı olmayabilir.
+@Component
+public class BulkImporter implements DisposableBean {
+
+    public enum Format {
+        CSV, JSON
+    }
+
+    private record ParsedRow<T>(long number, T value) {
+    }
+
+    private static final Object END = new Object();
+    private static final int MAX_JOBS = 100;
+
+    private final ObjectMapper mapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int maxErrors;
+    private final ExecutorService validationPool;
+
+    public static class DuplicateJobException extends RuntimeException {
+        public DuplicateJobException(String id) {
+            super("An import with id '" + id + "' already exists");
+        }
+    }
+
+    // Ekleme sırasıyla tutulur; sınır aşıldığında yalnızca bitmiş işler (en eskiden başlayarak) atılır,
+    // devam eden bir iş GET /imports/{id} üzerinden izlenebilir kalır
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public BulkImporter(ObjectMapper mapper,
+                        Validator validator,
+                        JdbcTemplate jdbc,
+                        TransactionTemplate tx,
+                        @Value("${demo.import.batch-size:1000}") int batchSize,
+                        @Value("${demo.import.queue-capacity:10000}") int queueCapacity,
+                        @Value("${demo.import.max-errors:1000}") int maxErrors,
+                        @Value("${demo.import.validation-threads:0}") int validationThreads) {
+        this.mapper = mapper;
+        this.validator = validator;
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxErrors = maxErrors;
+        int threads = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        this.validationPool = Executors.newFixedThreadPool(threads);
+    }
+
+    public ImportJob find(String id) {
+        synchronized (jobs) {
+            return jobs.get(id);
+        }
+    }
+
+    public <T> ImportJob run(ImportTarget<T> target, Format format, InputStream body, String jobId) {
+        ImportJob job = new ImportJob(jobId != null && !jobId.isBlank() ? jobId : UUID.randomUUID().toString(),
+                target.name(), maxErrors);
+        synchronized (jobs) {
+            if (jobs.containsKey(job.getId())) {
+                throw new DuplicateJobException(job.getId());
+            }
+            Iterator<ImportJob> it = jobs.values().iterator();
+            while (jobs.size() >= MAX_JOBS && it.hasNext()) {
+                if (it.next().getStatus() != ImportJob.Status.RUNNING) {
+                    it.remove();
+                }
+            }
+            jobs.put(job.getId(), job);
+        }
+
+        BlockingQueue<Object> writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        Semaphore inFlight = new Semaphore(queueCapacity);
+        AtomicReference<String> writerFailure = new AtomicReference<>();
+        Thread writer = Thread.ofVirtual().name("import-writer-" + job.getId())
+                .start(() -> writeLoop(target, writeQueue, job, writerFailure));
+
+        String failure = null;
+        try {
+            RowSink<T> sink = (number, value) -> {
+                // Yazıcı durduysa kalan satırlar doğrulanmadan geçilir; iş FAILED biter
+                if (writerFailure.get() != null) {
+                    return;
+                }
+                inFlight.acquire();
+                Runnable validation = () -> {
+                    try {
+                        String error = validate(value);
+                        if (error != null) {
+                            job.rowFailed(number, error);
+                        } else {
+                            job.rowValid();
+                            writeQueue.put(new ParsedRow<>(number, value));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        job.rowFailed(number, "validation failed: " + e.getMessage());
+                    } finally {
+                        inFlight.release();
+                    }
+                };
+                try {
+                    validationPool.execute(validation);
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            };
+            if (format == Format.CSV) {
+                parseCsv(target, body, job, sink);
+            } else {
+                parseJson(target, body, job, sink);
+            }
+        } catch (IOException e) {
+            failure = "Input could not be parsed: " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = "Import interrupted";
+        } catch (RuntimeException e) {
+            // Ör. doğrulama havuzu kapatıldı veya parser beklenmedik bir hata attı; yazıcı yine de END ile durdurulur
+            failure = "Import failed: " + e;
+        }
+
+        try {
+            inFlight.acquire(queueCapacity);
+            inFlight.release(queueCapacity);
+            writeQueue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.interrupt();
+            failure = "Import interrupted";
+        }
+        if (failure == null) {
+            failure = writerFailure.get();
+        }
+        job.finish(failure == null ? ImportJob.Status.COMPLETED : ImportJob.Status.FAILED, failure);
+        return job;
+    }
+
+    @FunctionalInterface
+    private interface RowSink<T> {
+        void accept(long number, T value) throws InterruptedException;
+    }
+
+    private <T> void parseCsv(ImportTarget<T> target, InputStream body, ImportJob job, RowSink<T> sink)
+            throws IOException, InterruptedException {
+        CsvReader csv = new CsvReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        header.replaceAll(String::trim);
+        long number = 0;
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            number++;
+            job.rowRead();
+            if (fields.size() != header.size()) {
+                job.rowFailed(number, "expected " + header.size() + " columns but found " + fields.size());
+                continue;
+            }
+            Map<String, String> row = new HashMap<>(header.size() * 2);
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i), fields.get(i));
+            }
+            T value;
+            try {
+                value = target.fromCsv().apply(row);
+            } catch (IllegalArgumentException e) {
+                job.rowFailed(number, e.getMessage());
+                continue;
+            }
+            sink.accept(number, value);
+        }
+    }
+
+    private <T> void parseJson(ImportTarget<T> target, InputStream body, ImportJob job, RowSink<T> sink)
+            throws IOException, InterruptedException {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("expected a JSON array");
+            }
+            long number = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("unexpected end of input");
+                }
+                number++;
+                job.rowRead();
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    job.rowFailed(number, "element is not a JSON object");
+                    continue;
+                }
+                // Önce ağaç olarak okunur ki hatalı bir satır parser'ın konumunu bozmasın
+                JsonNode node = mapper.readTree(parser);
+                T value;
+                try {
+                    value = mapper.treeToValue(node, target.type());
+                } catch (MismatchedInputException e) {
+                    job.rowFailed(number, e.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException e) {
+                    job.rowFailed(number, "element could not be mapped");
+                    continue;
+                }
+                sink.accept(number, value);
+            }
+        }
+    }
+
+    private String validate(Object value) {
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        Set<ConstraintViolation<Object>> violations = validator.validate(value);
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = value.getClass().getName();
+            event.violations = violations.size();
+            event.commit();
+        }
+        if (violations.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (ConstraintViolation<Object> violation : violations) {
+            if (!sb.isEmpty()) {
+                sb.append(", ");
+            }
+            sb.append(violation.getMessage());
+        }
+        return sb.toString();
+    }
+
+    // Yazıcı beklenmeyen bir hatayla (ör. bağlantı/transaction açılamadı) durursa kuyruk END'e kadar boşaltılmaya
+    // devam eder; aksi halde kuyruğa yazan doğrulayıcılar ve onları bekleyen istek thread'i sonsuza kadar kalır.
+    @SuppressWarnings("unchecked")
+    private <T> void writeLoop(ImportTarget<T> target, BlockingQueue<Object> queue, ImportJob job,
+                               AtomicReference<String> failure) {
+        List<ParsedRow<T>> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                Object next = queue.take();
+                if (next == END) {
+                    flushOrFail(target, batch, job, failure);
+                    return;
+                }
+                ParsedRow<T> row = (ParsedRow<T>) next;
+                if (failure.get() != null) {
+                    job.rowFailed(row.number(), failure.get());
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize || queue.isEmpty() && batch.size() >= batchSize / 4) {
+                    flushOrFail(target, batch, job, failure);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> void flushOrFail(ImportTarget<T> target, List<ParsedRow<T>> batch, ImportJob job, AtomicReference<String> failure) {
+        try {
+            flush(target, batch, job);
+        } catch (RuntimeException e) {
+            String message = "writer failed: " + e.getMessage();
+            failure.compareAndSet(null, message);
+            for (ParsedRow<T> row : batch) {
+                job.rowFailed(row.number(), message);
+            }
+            batch.clear();
+        }
+    }
+
+    private <T> void flush(ImportTarget<T> target, List<ParsedRow<T>> batch, ImportJob job) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ParsedRow<T>> rows = new ArrayList<>(batch.size());
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (ParsedRow<T> row : batch) {
+            try {
+                args.add(target.insertArgs().apply(row.value()));
+                rows.add(row);
+            } catch (RuntimeException e) {
+                job.rowFailed(row.number(), "insert failed: " + e.getMessage());
+            }
+        }
+        try {
+            tx.executeWithoutResult(status -> jdbc.batchUpdate(target.insertSql(), args));
+            job.rowsInserted(rows.size());
+        } catch (DataAccessException e) {
+            // Tek hatalı satır tüm batch'i geri alır; gerçek hatalı satırı bulmak için satırlar tek tek denenir
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] rowArgs = args.get(i);
+                try {
+                    tx.executeWithoutResult(status -> jdbc.update(target.insertSql(), rowArgs));
+                    job.rowsInserted(1);
+                } catch (DataAccessException rowError) {
+                    job.rowFailed(rows.get(i).number(), "insert failed: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    @Override
+    public void destroy() {
+        validationPool.shutdownNow();
+    }
+}
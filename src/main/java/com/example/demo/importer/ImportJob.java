@@ -0,0 +1,127 @@
+package com.example.demo.importer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ImportJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public record RowError(long row, String message) {
+    }
+
+    private final String id;
+    private final String target;
+    private final int maxErrors;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsValid = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final List<RowError> errors = new ArrayList<>();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile String failureMessage;
+    private volatile LocalDateTime finishedAt;
+    private volatile long elapsedNanos = -1;
+
+    ImportJob(String id, String target, int maxErrors) {
+        this.id = id;
+        this.target = target;
+        this.maxErrors = maxErrors;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowValid() {
+        rowsValid.incrementAndGet();
+    }
+
+    void rowsInserted(int count) {
+        rowsInserted.addAndGet(count);
+    }
+
+    void rowFailed(long row, String message) {
+        rowsFailed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(row, message));
+            }
+        }
+    }
+
+    void finish(Status status, String failureMessage) {
+        this.failureMessage = failureMessage;
+        this.elapsedNanos = System.nanoTime() - startNanos;
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsValid() {
+        return rowsValid.get();
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted.get();
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed.get();
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public boolean isErrorsTruncated() {
+        return rowsFailed.get() > maxErrors;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getElapsedMs() {
+        long nanos = elapsedNanos >= 0 ? elapsedNanos : System.nanoTime() - startNanos;
+        return nanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        long ms = Math.max(1, getElapsedMs());
+        return rowsRead.get() * 1000.0 / ms;
+    }
+}
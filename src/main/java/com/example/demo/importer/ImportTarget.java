@@ -0,0 +1,52 @@
+package com.example.demo.importer;
+
+import com.example.demo.entity.Product;
+import com.example.demo.entity.Student;
+
+import java.util.Map;
+import java.util.function.Function;
+
+// Toplu içe aktarılabilen bir entity tipinin tanımı: CSV eşlemesi ve batch INSERT parametreleri.
+public record ImportTarget<T>(String name,
+                              Class<T> type,
+                              String insertSql,
+                              Function<Map<String, String>, T> fromCsv,
+                              Function<T, Object[]> insertArgs) {
+
+    public static final ImportTarget<Product> PRODUCTS = new ImportTarget<>(
+            "products",
+            Product.class,
+            "insert into product (name, category, price, stock) values (?, ?, ?, ?)",
+            row -> new Product(null, row.get("name"), row.get("category"),
+                    parseDouble(row.get("price"), "price"), parseInt(row.get("stock"), "stock")),
+            p -> new Object[]{p.getName(), p.getCategory(), p.getPrice(), p.getStock()});
+
+    public static final ImportTarget<Student> STUDENTS = new ImportTarget<>(
+            "students",
+            Student.class,
+            "insert into student (first_name, last_name, email) values (?, ?, ?)",
+            row -> new Student(null, row.get("firstName"), row.get("lastName"), row.get("email")),
+            s -> new Object[]{s.getFirstName(), s.getLastName(), s.getEmail()});
+
+    private static Double parseDouble(String value, String field) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " must be a number");
+        }
+    }
+
+    private static Integer parseInt(String value, String field) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " must be an integer");
+        }
+    }
+}
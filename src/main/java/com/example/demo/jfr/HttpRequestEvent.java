@@ -0,0 +1,34 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(HttpRequestEvent.NAME)
+@Label("HTTP Request")
+@Category({"Demo", "HTTP"})
+@Description("Bir HTTP isteğinin filtre zinciri dahil toplam işlenme süresi")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    public static final String NAME = "com.example.demo.HttpRequest";
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    @Description("Eşleşen URL şablonu, örn. /orders/{id}")
+    public String endpoint;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Handler")
+    public String handler;
+}
@@ -0,0 +1,120 @@
+package com.example.demo.jfr;
+
+import com.example.demo.util.LogHistogram;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Uygulama içinden JFR event akışını dinleyip endpoint ve transaction bazında canlı özet tutar.
+// demo.jfr.streaming.enabled=true olduğunda başlar; akış açıkken ilgili event'ler kaydedilir,
+// dolayısıyla bu mod kapalıyken event'ler (harici bir kayıt yoksa) hiç üretilmez.
+@Component
+public class JfrLiveSummary implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrLiveSummary.class);
+
+    private static final class Summary {
+        final LogHistogram latency = new LogHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAdder rows = new LongAdder();
+    }
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<String, Summary> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Summary> transactions = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public JfrLiveSummary(@Value("${demo.jfr.streaming.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RecordingStream rs = new RecordingStream();
+        rs.setMaxAge(Duration.ofMinutes(1));
+        rs.enable(HttpRequestEvent.NAME);
+        rs.enable(TransactionEvent.NAME);
+        rs.onEvent(HttpRequestEvent.NAME, this::onRequest);
+        rs.onEvent(TransactionEvent.NAME, this::onTransaction);
+        rs.startAsync();
+        stream = rs;
+        log.info("JFR event streaming started for live endpoint summaries");
+    }
+
+    private void onRequest(RecordedEvent event) {
+        String key = event.getString("method") + " " + event.getString("endpoint");
+        Summary summary = endpoints.computeIfAbsent(key, k -> new Summary());
+        summary.latency.record(event.getDuration().toNanos() / 1000);
+        if (event.getInt("status") >= 500) {
+            summary.errors.increment();
+        }
+    }
+
+    private void onTransaction(RecordedEvent event) {
+        String name = event.getString("name");
+        Summary summary = transactions.computeIfAbsent(name != null ? name : "(unnamed)", k -> new Summary());
+        summary.latency.record(event.getDuration().toNanos() / 1000);
+        summary.statements.add(event.getInt("statements"));
+        summary.rows.add(event.getLong("rows"));
+        if (!"COMMIT".equals(event.getString("outcome"))) {
+            summary.errors.increment();
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("streaming", stream != null);
+        resp.put("endpoints", rows(endpoints, "errors"));
+        resp.put("transactions", rows(transactions, "rollbacks"));
+        return resp;
+    }
+
+    private static List<Map<String, Object>> rows(Map<String, Summary> summaries, String errorLabel) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        summaries.forEach((name, s) -> {
+            long count = s.latency.count();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", name);
+            row.put("count", count);
+            row.put(errorLabel, s.errors.sum());
+            row.put("avgMicros", count == 0 ? 0 : s.latency.totalMicros() / count);
+            row.put("p50Micros", s.latency.percentile(50));
+            row.put("p99Micros", s.latency.percentile(99));
+            row.put("maxMicros", s.latency.maxMicros());
+            if (s.statements.sum() > 0) {
+                row.put("statements", s.statements.sum());
+                row.put("rowsAffected", s.rows.sum());
+            }
+            rows.add(row);
+        });
+        rows.sort(Comparator.comparingLong((Map<String, Object> r) -> (long) r.get("count")).reversed());
+        return rows;
+    }
+
+    @Override
+    public void destroy() {
+        RecordingStream rs = stream;
+        if (rs != null) {
+            rs.close();
+        }
+    }
+}
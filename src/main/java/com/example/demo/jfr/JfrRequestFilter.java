@@ -0,0 +1,48 @@
+package com.example.demo.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Her istek için HttpRequestEvent. Kayıt yokken event oluşturma/begin/commit JFR tarafından no-op'a
+// indirgenir; alanlar sadece shouldCommit() true iken doldurulur.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class JfrRequestFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+                event.status = failed ? 500 : response.getStatus();
+                if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                    String controller = handler.getBeanType().getSimpleName();
+                    event.entityType = controller.endsWith("Controller")
+                            ? controller.substring(0, controller.length() - "Controller".length()) : controller;
+                    event.handler = controller + "." + handler.getMethod().getName();
+                }
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.jfr;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.ArrayDeque;
+
+// Transaction yaşam döngüsünden TransactionEvent üretir. Spring Boot bu bean'i transaction manager'a
+// kendisi ekler. REQUIRES_NEW ile iç içe açılan transaction'lar için thread başına yığın tutulur;
+// TimingDataSource çalışan her ifadeyi en içteki transaction'a sayar. Kayıt yokken yığın hiç oluşmaz.
+@Component
+public class JfrTransactionListener implements TransactionExecutionListener {
+
+    private record Active(TransactionExecution transaction, TransactionEvent event) {
+    }
+
+    private static final ThreadLocal<ArrayDeque<Active>> ACTIVE = new ThreadLocal<>();
+    private static final TransactionEvent PROBE = new TransactionEvent();
+
+    public static void statementExecuted(long rows) {
+        ArrayDeque<Active> stack = ACTIVE.get();
+        Active current = stack != null ? stack.peek() : null;
+        if (current != null) {
+            current.event().statements++;
+            current.event().rows += Math.max(0, rows);
+        }
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isNewTransaction() || !PROBE.isEnabled()) {
+            return;
+        }
+        TransactionEvent event = new TransactionEvent();
+        event.name = transaction.getTransactionName();
+        event.readOnly = transaction.isReadOnly();
+        event.begin();
+        ArrayDeque<Active> stack = ACTIVE.get();
+        if (stack == null) {
+            stack = new ArrayDeque<>(2);
+            ACTIVE.set(stack);
+        }
+        stack.push(new Active(transaction, event));
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        finish(transaction, commitFailure == null ? "COMMIT" : "COMMIT_FAILED");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        finish(transaction, "ROLLBACK");
+    }
+
+    private static void finish(TransactionExecution transaction, String outcome) {
+        ArrayDeque<Active> stack = ACTIVE.get();
+        if (stack == null || stack.isEmpty() || stack.peek().transaction() != transaction) {
+            return;
+        }
+        TransactionEvent event = stack.pop().event();
+        if (stack.isEmpty()) {
+            ACTIVE.remove();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+}
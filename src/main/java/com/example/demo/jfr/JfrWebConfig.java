@@ -0,0 +1,86 @@
+package com.example.demo.jfr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// @Valid doğrulaması ve JSON cevap yazımı için JFR event'leri.
+// Doğrulayıcı ve converter, Spring Boot'un varsayılanlarını saran ince katmanlardır.
+@Configuration
+public class JfrWebConfig implements WebMvcConfigurer {
+
+    private final jakarta.validation.Validator validator;
+
+    public JfrWebConfig(jakarta.validation.Validator validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public org.springframework.validation.Validator getValidator() {
+        return new TimedValidator(new SpringValidatorAdapter(validator));
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                SerializationEvent event = new SerializationEvent();
+                event.begin();
+                super.writeInternal(object, type, outputMessage);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.type = type != null ? type.getTypeName() : object.getClass().getName();
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    private record TimedValidator(SmartValidator delegate) implements SmartValidator {
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return delegate.supports(clazz);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            validate(target, errors, new Object[0]);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors, Object... validationHints) {
+            ValidationEvent event = new ValidationEvent();
+            event.begin();
+            int before = errors.getErrorCount();
+            delegate.validate(target, errors, validationHints);
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = target.getClass().getName();
+                event.violations = errors.getErrorCount() - before;
+                event.commit();
+            }
+        }
+
+        @Override
+        public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+                                  Object... validationHints) {
+            delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            return delegate.unwrap(type);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(SerializationEvent.NAME)
+@Label("JSON Serialization")
+@Category({"Demo", "HTTP"})
+@StackTrace(false)
+public class SerializationEvent extends Event {
+
+    public static final String NAME = "com.example.demo.Serialization";
+
+    @Label("Type")
+    public String type;
+}
@@ -0,0 +1,35 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(TransactionEvent.NAME)
+@Label("Transaction")
+@Category({"Demo", "Database"})
+@Description("Begin'den commit/rollback'e kadar bir veritabanı transaction'ı")
+@StackTrace(false)
+public class TransactionEvent extends Event {
+
+    public static final String NAME = "com.example.demo.Transaction";
+
+    @Label("Name")
+    @Description("Transaction adı, genelde sınıf.metot")
+    public String name;
+
+    @Label("Read Only")
+    public boolean readOnly;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Statements")
+    public int statements;
+
+    @Label("Rows Affected")
+    @Description("INSERT/UPDATE/DELETE ifadelerinin etkilediği satır sayısı")
+    public long rows;
+}
@@ -0,0 +1,22 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(ValidationEvent.NAME)
+@Label("Bean Validation")
+@Category({"Demo", "Validation"})
+@StackTrace(false)
+public class ValidationEvent extends Event {
+
+    public static final String NAME = "com.example.demo.Validation";
+
+    @Label("Type")
+    public String type;
+
+    @Label("Violations")
+    public int violations;
+}
@@ -0,0 +1,138 @@
+package com.example.demo.json;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.OrderLine;
+import com.example.demo.entity.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+// Liste uç noktalarında en çok yazılan entity'ler için elle yazılmış serializer'lar.
+// Reflection/BeanPropertyWriter yerine getter'lar doğrudan çağrılır, alan adları önceden kodlanmıştır.
+// Çıktı varsayılan bean serializer ile birebir aynıdır (alan sırası ve null alanlar dahil);
+// entity'ye alan eklenirse burası da güncellenmelidir.
+@JsonComponent
+public class EntityJsonSerializers {
+
+    private static final SerializableString ID = new SerializedString("id");
+
+    public static class ProductSerializer extends StdSerializer<Product> {
+
+        private static final SerializableString NAME = new SerializedString("name");
+        private static final SerializableString CATEGORY = new SerializedString("category");
+        private static final SerializableString PRICE = new SerializedString("price");
+        private static final SerializableString STOCK = new SerializedString("stock");
+
+        public ProductSerializer() {
+            super(Product.class);
+        }
+
+        @Override
+        public void serialize(Product value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeLong(gen, ID, value.getId());
+            writeString(gen, NAME, value.getName());
+            writeString(gen, CATEGORY, value.getCategory());
+            writeDouble(gen, PRICE, value.getPrice());
+            gen.writeFieldName(STOCK);
+            if (value.getStock() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.getStock());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static class OrderSerializer extends StdSerializer<Order> {
+
+        private static final SerializableString ORDER_NUMBER = new SerializedString("orderNumber");
+        private static final SerializableString CUSTOMER_NAME = new SerializedString("customerName");
+        private static final SerializableString TOTAL_AMOUNT = new SerializedString("totalAmount");
+        private static final SerializableString STATUS = new SerializedString("status");
+        private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+        private static final SerializableString LINES = new SerializedString("lines");
+        private static final SerializableString PRODUCT_ID = new SerializedString("productId");
+        private static final SerializableString PRODUCT_NAME = new SerializedString("productName");
+        private static final SerializableString QUANTITY = new SerializedString("quantity");
+        private static final SerializableString UNIT_PRICE = new SerializedString("unitPrice");
+
+        public OrderSerializer() {
+            super(Order.class);
+        }
+
+        @Override
+        public void serialize(Order value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeLong(gen, ID, value.getId());
+            writeString(gen, ORDER_NUMBER, value.getOrderNumber());
+            writeString(gen, CUSTOMER_NAME, value.getCustomerName());
+            writeDouble(gen, TOTAL_AMOUNT, value.getTotalAmount());
+            writeString(gen, STATUS, value.getStatus());
+            gen.writeFieldName(CREATED_AT);
+            if (value.getCreatedAt() == null) {
+                gen.writeNull();
+            } else {
+                IsoDateTimeWriter.write(value.getCreatedAt(), gen);
+            }
+            gen.writeFieldName(LINES);
+            if (value.getLines() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(value.getLines(), value.getLines().size());
+                for (OrderLine line : value.getLines()) {
+                    writeLine(gen, line);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+
+        private static void writeLine(JsonGenerator gen, OrderLine line) throws IOException {
+            gen.writeStartObject(line);
+            writeLong(gen, ID, line.getId());
+            writeLong(gen, PRODUCT_ID, line.getProductId());
+            writeString(gen, PRODUCT_NAME, line.getProductName());
+            gen.writeFieldName(QUANTITY);
+            if (line.getQuantity() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(line.getQuantity());
+            }
+            writeDouble(gen, UNIT_PRICE, line.getUnitPrice());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeLong(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeDouble(JsonGenerator gen, SerializableString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// LocalDateTime'ı DateTimeFormatter.ISO_LOCAL_DATE_TIME ile birebir aynı biçimde, ara String/StringBuilder
+// oluşturmadan yazar: yyyy-MM-ddTHH:mm:ss[.fffffffff] (kesir sondaki sıfırlar atılarak).
+final class IsoDateTimeWriter {
+
+    private IsoDateTimeWriter() {
+    }
+
+    static void write(LocalDateTime value, JsonGenerator gen) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        char[] buf = new char[29];
+        int pos = 0;
+        pos = digits(buf, pos, year, 4);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, value.getMonthValue(), 2);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, value.getDayOfMonth(), 2);
+        buf[pos++] = 'T';
+        pos = digits(buf, pos, value.getHour(), 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, value.getMinute(), 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano != 0) {
+            buf[pos++] = '.';
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            pos = digits(buf, pos, nano, width);
+        }
+        gen.writeString(buf, 0, pos);
+    }
+
+    private static int digits(char[] buf, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
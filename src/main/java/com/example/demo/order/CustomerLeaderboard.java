@@ -0,0 +1,200 @@
+package com.example.demo.order;
+
+import com.example.demo.entity.Order;
+import com.example.demo.event.OrderChangedEvent;
+import com.example.demo.event.OrdersPurgedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Müşteri başına toplam sipariş tutarı (kuruş) ve sipariş sayısı; tutara göre azalan sıralı skip list'te tutulur.
+// Yazmalar OrderChangedEvent ile müşterinin eski kaydını yenisiyle değiştirir (tek yazıcı, synchronized);
+// okumalar kilitsizdir ve listenin başından ilk n müşteriyi alır. Hariç tutulan durumlar (varsayılan CANCELED)
+// toplama girmez; durum düzeltmesi siparişi toplama ekler veya çıkarır.
+// Açılışta ve toplu silmeden sonra tablo üzerinde tek GROUP BY ile yeniden kurulur.
+// Yeniden kurma ile commit'ler arasındaki yarış: commit'ten hemen önce alınan okuma kilidi (commits.readLock) commit
+// sonrası olay uygulanana kadar tutulur, yeniden kurma yazma kilidini alır. Böylece GROUP BY'ın gördüğü her
+// sipariş olayı ya yeniden kurmadan önce uygulanmıştır (ve yeni tabloyla ezilir) ya da sorgudan sonra commit olur;
+// commit'ten önce sorguya girip olayı sonradan gelen sipariş iki kez sayılmaz.
+@Component
+public class CustomerLeaderboard {
+
+    private record Standing(String customer, long cents, long orders) {
+    }
+
+    private static final Comparator<Standing> BY_AMOUNT = Comparator.comparingLong(Standing::cents).reversed()
+            .thenComparing(Standing::customer);
+
+    private record Board(Map<String, Standing> byCustomer, ConcurrentSkipListSet<Standing> ranking) {
+        Board() {
+            this(new ConcurrentHashMap<>(), new ConcurrentSkipListSet<>(BY_AMOUNT));
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final Set<String> excludedStatuses;
+
+    private volatile Board board = new Board();
+    private final ReentrantReadWriteLock commits = new ReentrantReadWriteLock();
+
+    public CustomerLeaderboard(JdbcTemplate jdbc,
+                               @Value("${demo.orders.leaderboard.excluded-statuses:CANCELED}") Set<String> excludedStatuses) {
+        this.jdbc = jdbc;
+        this.excludedStatuses = new HashSet<>(excludedStatuses);
+        this.excludedStatuses.remove("");
+    }
+
+    // WarmupRunner (LOWEST_PRECEDENCE) başlamadan önce kurulmuş olmalı
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        commits.writeLock().lock();
+        try {
+            board = load();
+        } finally {
+            commits.writeLock().unlock();
+        }
+    }
+
+    private Board load() {
+        Board fresh = new Board();
+        StringBuilder sql = new StringBuilder("select customer_name, sum(total_amount), count(*) from orders where customer_name is not null");
+        if (!excludedStatuses.isEmpty()) {
+            sql.append(" and (status is null or status not in (")
+                    .append(String.join(", ", excludedStatuses.stream().map(s -> "?").toList()))
+                    .append("))");
+        }
+        sql.append(" group by customer_name");
+        jdbc.query(sql.toString(), rs -> {
+            Standing standing = new Standing(rs.getString(1), toCents(rs.getDouble(2)), rs.getLong(3));
+            fresh.byCustomer().put(standing.customer(), standing);
+            fresh.ranking().add(standing);
+        }, excludedStatuses.toArray());
+        return fresh;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        Lock lock = commits.readLock();
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                applyChange(event);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        // Kilit commit boyunca tutulur; geri alınan transaction'ın olayı uygulanmaz
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        applyChange(event);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private synchronized void applyChange(OrderChangedEvent event) {
+        if (event.previous() != null) {
+            apply(event.previous(), -1);
+        }
+        if (event.current() != null) {
+            apply(event.current(), 1);
+        }
+    }
+
+    // Silinen siparişlerin müşteri dağılımı bilinmez; toplamlar tablodan yeniden hesaplanır
+    @EventListener
+    public void onOrdersPurged(OrdersPurgedEvent event) {
+        if (event.deletedOrders() > 0) {
+            rebuild();
+        }
+    }
+
+    public List<Map<String, Object>> top(int n) {
+        Board current = board;
+        List<Map<String, Object>> result = new ArrayList<>(n);
+        Set<String> seen = new HashSet<>();
+        for (Standing standing : current.ranking()) {
+            if (result.size() >= n) {
+                break;
+            }
+            // Değiştirme sırasında müşterinin eski ve yeni kaydı bir an birlikte görünebilir
+            if (!seen.add(standing.customer())) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("rank", result.size() + 1);
+            row.put("customerName", standing.customer());
+            row.put("totalAmount", BigDecimal.valueOf(standing.cents(), 2));
+            row.put("orders", standing.orders());
+            result.add(row);
+        }
+        return result;
+    }
+
+    public int customers() {
+        return board.byCustomer().size();
+    }
+
+    private void apply(Order order, int sign) {
+        if (order.getCustomerName() == null || order.getStatus() != null && excludedStatuses.contains(order.getStatus())) {
+            return;
+        }
+        long cents = order.getTotalAmount() == null ? 0 : toCents(order.getTotalAmount());
+        Board current = board;
+        Standing old = current.byCustomer().get(order.getCustomerName());
+        long newCents = (old == null ? 0 : old.cents()) + sign * cents;
+        long newOrders = (old == null ? 0 : old.orders()) + sign;
+        if (newOrders <= 0) {
+            current.byCustomer().remove(order.getCustomerName());
+            if (old != null) {
+                current.ranking().remove(old);
+            }
+            return;
+        }
+        Standing updated = new Standing(order.getCustomerName(), newCents, newOrders);
+        current.byCustomer().put(updated.customer(), updated);
+        if (old != null && BY_AMOUNT.compare(old, updated) == 0) {
+            // Tutar değişmedi (sıfır tutarlı sipariş): aynı sıradaki kayıt yenisiyle değiştirilir
+            current.ranking().remove(old);
+            current.ranking().add(updated);
+            return;
+        }
+        // Önce yeni kayıt eklenir, sonra eski çıkarılır: okuyucu müşteriyi hiçbir an kaçırmaz
+        current.ranking().add(updated);
+        if (old != null) {
+            current.ranking().remove(old);
+        }
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
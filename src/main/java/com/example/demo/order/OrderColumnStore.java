@@ -0,0 +1,310 @@
+package com.example.demo.order;
+
+import com.example.demo.entity.Order;
+import com.example.demo.event.OrderChangedEvent;
+import com.example.demo.event.OrdersPurgedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+// Analitik sorgular için siparişlerin sütun bazlı bellek içi kopyası:
+//   tutar -> long kuruş, createdAt -> epoch millis (UTC), status -> sözlükle kodlanmış byte.
+// Yazmalar OrderChangedEvent ile sona eklenir / yerinde güncellenir; silinen satırlar işaretlenir ve
+// belirli bir orandan sonra sıkıştırılır. Sorgular satırları sabit boyutlu parçalara bölüp paralel tarar.
+// Status serbest metin olduğundan sözlük dolunca yeni durumlar ortak OTHER koduna yazılır; bu satırların
+// gerçek durumu ID ile ayrı tutulur, böylece sözlük taşması yazma yolunu veya açılışı bozmaz.
+@Component
+public class OrderColumnStore {
+
+    public record Query(String status, LocalDateTime from, LocalDateTime to, double bucketWidth, int buckets) {
+    }
+
+    private static final int CHUNK = 1 << 16;
+    private static final byte DELETED = -1;
+    private static final byte OTHER = Byte.MAX_VALUE;
+    private static final byte NO_MATCH = Byte.MIN_VALUE;
+    private static final long NO_AMOUNT = Long.MIN_VALUE;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final JdbcTemplate jdbc;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[1024];
+    private long[] amounts = new long[1024];
+    private long[] times = new long[1024];
+    private byte[] statuses = new byte[1024];
+    private int size;
+    private int deleted;
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final Map<String, Byte> statusCodes = new HashMap<>();
+    private final List<String> statusNames = new ArrayList<>();
+    private final Map<Long, String> otherStatusById = new HashMap<>();
+
+    public OrderColumnStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // WarmupRunner (LOWEST_PRECEDENCE) başlamadan önce kurulmuş olmalı
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            deleted = 0;
+            rowById.clear();
+            otherStatusById.clear();
+            jdbc.query("select id, total_amount, status, created_at from orders order by id", rs -> {
+                long id = rs.getLong(1);
+                Double amount = rs.getObject(2, Double.class);
+                append(id, amount == null ? NO_AMOUNT : toCents(amount), encode(id, rs.getString(3)),
+                        toMillis(rs.getObject(4, LocalDateTime.class)));
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.type()) {
+                case CREATED -> upsert(event.current());
+                case UPDATED -> upsert(event.current());
+                case DELETED -> {
+                    Integer row = rowById.remove(event.previous().getId());
+                    otherStatusById.remove(event.previous().getId());
+                    if (row != null) {
+                        statuses[row] = DELETED;
+                        deleted++;
+                        if (deleted > CHUNK && deleted > size / 4) {
+                            compact(Long.MIN_VALUE);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onOrdersPurged(OrdersPurgedEvent event) {
+        lock.writeLock().lock();
+        try {
+            compact(toMillis(event.before()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> aggregate(Query query) {
+        long started = System.nanoTime();
+        long from = query.from() != null ? toMillis(query.from()) : Long.MIN_VALUE;
+        long to = query.to() != null ? toMillis(query.to()) : Long.MAX_VALUE;
+        long width = Math.max(1, toCents(query.bucketWidth()));
+        int bucketCount = query.buckets();
+
+        Partial total;
+        int scanned;
+        lock.readLock().lock();
+        try {
+            scanned = size;
+            byte status;
+            String otherStatus = null;
+            if (query.status() == null) {
+                status = DELETED;
+            } else {
+                Byte code = statusCodes.get(query.status());
+                if (code != null) {
+                    status = code;
+                } else if (otherStatusById.containsValue(query.status())) {
+                    status = OTHER;
+                    otherStatus = query.status();
+                } else {
+                    // Hiç görülmemiş durum: eşleşen satır yok
+                    status = NO_MATCH;
+                }
+            }
+            String other = otherStatus;
+            int chunks = (scanned + CHUNK - 1) / CHUNK;
+            total = IntStream.range(0, chunks).parallel()
+                    .mapToObj(c -> scan(c * CHUNK, Math.min(scanned, (c + 1) * CHUNK), status, other, from, to, width, bucketCount))
+                    .reduce(new Partial(bucketCount), Partial::merge);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map<String, Object>> histogram = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("from", BigDecimal.valueOf(i * width, 2));
+            bucket.put("to", i == bucketCount - 1 ? null : BigDecimal.valueOf((i + 1) * width, 2));
+            bucket.put("count", total.histogram[i]);
+            histogram.add(bucket);
+        }
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("count", total.count);
+        resp.put("sum", BigDecimal.valueOf(total.sum, 2));
+        resp.put("avg", total.count == 0 ? null : total.sum / 100.0 / total.count);
+        resp.put("min", total.count == 0 ? null : BigDecimal.valueOf(total.min, 2));
+        resp.put("max", total.count == 0 ? null : BigDecimal.valueOf(total.max, 2));
+        resp.put("histogram", histogram);
+        resp.put("scannedRows", scanned);
+        resp.put("elapsedMicros", (System.nanoTime() - started) / 1000);
+        return resp;
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            return Map.of("rows", size, "deletedRows", deleted, "statuses", List.copyOf(statusNames),
+                    "otherStatusRows", otherStatusById.size(),
+                    "capacity", ids.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // status == DELETED: durum filtresi yok (silinmiş satırlar yine hariç); status == OTHER ise gerçek durum
+    // otherStatus ile karşılaştırılır
+    private Partial scan(int start, int end, byte status, String otherStatus, long from, long to, long width, int bucketCount) {
+        Partial p = new Partial(bucketCount);
+        long[] ids = this.ids;
+        long[] amounts = this.amounts;
+        long[] times = this.times;
+        byte[] statuses = this.statuses;
+        int last = bucketCount - 1;
+        for (int i = start; i < end; i++) {
+            byte s = statuses[i];
+            long t = times[i];
+            long a = amounts[i];
+            if (s == DELETED || (status != DELETED && s != status) || t < from || t >= to || a == NO_AMOUNT) {
+                continue;
+            }
+            if (otherStatus != null && !otherStatus.equals(otherStatusById.get(ids[i]))) {
+                continue;
+            }
+            p.count++;
+            p.sum += a;
+            p.min = Math.min(p.min, a);
+            p.max = Math.max(p.max, a);
+            p.histogram[(int) Math.min(last, Math.max(0, a / width))]++;
+        }
+        return p;
+    }
+
+    private static final class Partial {
+        long count;
+        long sum;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        final long[] histogram;
+
+        Partial(int buckets) {
+            histogram = new long[buckets];
+        }
+
+        Partial merge(Partial other) {
+            Partial merged = new Partial(histogram.length);
+            merged.count = count + other.count;
+            merged.sum = sum + other.sum;
+            merged.min = Math.min(min, other.min);
+            merged.max = Math.max(max, other.max);
+            for (int i = 0; i < histogram.length; i++) {
+                merged.histogram[i] = histogram[i] + other.histogram[i];
+            }
+            return merged;
+        }
+    }
+
+    private void upsert(Order order) {
+        long amount = order.getTotalAmount() != null ? toCents(order.getTotalAmount()) : NO_AMOUNT;
+        byte status = encode(order.getId(), order.getStatus());
+        long time = toMillis(order.getCreatedAt());
+        Integer row = rowById.get(order.getId());
+        if (row == null) {
+            append(order.getId(), amount, status, time);
+        } else {
+            amounts[row] = amount;
+            statuses[row] = status;
+            times[row] = time;
+        }
+    }
+
+    private void append(long id, long amount, byte status, long time) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            times = Arrays.copyOf(times, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+        }
+        ids[size] = id;
+        amounts[size] = amount;
+        statuses[size] = status;
+        times[size] = time;
+        rowById.put(id, size);
+        size++;
+    }
+
+    // Silinmiş satırları ve createdAt < before olanları atar; dizileri yerinde kaydırır
+    private void compact(long before) {
+        int write = 0;
+        rowById.clear();
+        for (int read = 0; read < size; read++) {
+            if (statuses[read] == DELETED || times[read] != NO_TIME && times[read] < before) {
+                otherStatusById.remove(ids[read]);
+                continue;
+            }
+            ids[write] = ids[read];
+            amounts[write] = amounts[read];
+            times[write] = times[read];
+            statuses[write] = statuses[read];
+            rowById.put(ids[write], write);
+            write++;
+        }
+        size = write;
+        deleted = 0;
+    }
+
+    private byte encode(long id, String status) {
+        Byte code = statusCodes.get(status);
+        if (code == null) {
+            if (statusNames.size() == OTHER) {
+                otherStatusById.put(id, status);
+                return OTHER;
+            }
+            code = (byte) statusNames.size();
+            statusCodes.put(status, code);
+            statusNames.add(status);
+        }
+        otherStatusById.remove(id);
+        return code;
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIME;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo.order;
+
+import com.example.demo.entity.Order;
+import com.example.demo.event.OrderChangedEvent;
+import com.example.demo.event.OrdersPurgedEvent;
+import com.example.demo.util.HyperLogLog;
+import com.example.demo.util.KllSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Gün başına ayrık müşteri (HyperLogLog) ve sipariş tutarı dağılımı (KLL) sketch'leri.
+// Yeni siparişler OrderChangedEvent ile eklenir; sketch'ler silme/güncellemeyi geri alamaz,
+// bu yüzden değerler o gün oluşturulan siparişleri yansıtır. retentionDays'ten eski günler atılır,
+// böylece bellek gün sayısı ile sınırlıdır. Aralık sorguları günlük sketch'lerin birleşimidir.
+@Component
+public class OrderSketches {
+
+    private final class Day {
+        final HyperLogLog customers = new HyperLogLog(hllPrecision);
+        final KllSketch amounts = new KllSketch(kllK);
+        final LongAdder orders = new LongAdder();
+
+        void add(String customer, Double amount) {
+            orders.increment();
+            if (customer != null) {
+                customers.add(customer);
+            }
+            if (amount != null) {
+                amounts.update(amount);
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final int hllPrecision;
+    private final int kllK;
+    private final int retentionDays;
+    private final ConcurrentSkipListMap<LocalDate, Day> days = new ConcurrentSkipListMap<>();
+
+    public OrderSketches(JdbcTemplate jdbc,
+                         @Value("${demo.orders.sketches.hll-precision:14}") int hllPrecision,
+                         @Value("${demo.orders.sketches.kll-k:200}") int kllK,
+                         @Value("${demo.orders.sketches.retention-days:90}") int retentionDays) {
+        this.jdbc = jdbc;
+        this.hllPrecision = hllPrecision;
+        this.kllK = kllK;
+        this.retentionDays = retentionDays;
+    }
+
+    // WarmupRunner (LOWEST_PRECEDENCE) başlamadan önce kurulmuş olmalı
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        days.clear();
+        LocalDateTime since = LocalDate.now().minusDays(retentionDays - 1L).atStartOfDay();
+        jdbc.query("select customer_name, total_amount, created_at from orders where created_at >= ?", rs -> {
+            add(rs.getObject(3, LocalDateTime.class), rs.getString(1), rs.getObject(2, Double.class));
+        }, since);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.type() == OrderChangedEvent.Type.CREATED) {
+            Order order = event.current();
+            add(order.getCreatedAt(), order.getCustomerName(), order.getTotalAmount());
+        }
+    }
+
+    // Sadece tamamen kesme zamanından önce kalan günler atılabilir
+    @EventListener
+    public void onOrdersPurged(OrdersPurgedEvent event) {
+        days.headMap(event.before().toLocalDate(), false).clear();
+    }
+
+    // [from, to] günleri için günlük değerler ve birleştirilmiş toplam
+    public Map<String, Object> query(LocalDate from, LocalDate to) {
+        HyperLogLog customers = new HyperLogLog(hllPrecision);
+        KllSketch amounts = new KllSketch(kllK);
+        long orders = 0;
+        List<Map<String, Object>> perDay = new ArrayList<>();
+        for (Map.Entry<LocalDate, Day> e : days.subMap(from, true, to, true).entrySet()) {
+            Day day = e.getValue();
+            perDay.add(summary(e.getKey().toString(), day.orders.sum(), day.customers, day.amounts));
+            customers.merge(day.customers);
+            amounts.merge(day.amounts);
+            orders += day.orders.sum();
+        }
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("distinctCustomersRelativeStdError", customers.relativeStandardError());
+        error.put("amountQuantileRankError", amounts.normalizedRankError());
+
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("from", from);
+        resp.put("to", to);
+        resp.put("total", summary(null, orders, customers, amounts));
+        resp.put("days", perDay);
+        resp.put("error", error);
+        resp.put("retainedDays", days.size());
+        return resp;
+    }
+
+    private void add(LocalDateTime createdAt, String customer, Double amount) {
+        if (createdAt == null) {
+            return;
+        }
+        LocalDate date = createdAt.toLocalDate();
+        LocalDate oldest = LocalDate.now().minusDays(retentionDays - 1L);
+        if (date.isBefore(oldest)) {
+            return;
+        }
+        days.computeIfAbsent(date, d -> new Day()).add(customer, amount);
+        if (days.firstKey().isBefore(oldest)) {
+            days.headMap(oldest, false).clear();
+        }
+    }
+
+    private static Map<String, Object> summary(String date, long orders, HyperLogLog customers, KllSketch amounts) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        if (date != null) {
+            row.put("date", date);
+        }
+        row.put("orders", orders);
+        row.put("distinctCustomers", customers.estimate());
+        boolean empty = amounts.count() == 0;
+        row.put("amountP50", empty ? null : amounts.quantile(0.50));
+        row.put("amountP95", empty ? null : amounts.quantile(0.95));
+        row.put("amountP99", empty ? null : amounts.quantile(0.99));
+        return row;
+    }
+}
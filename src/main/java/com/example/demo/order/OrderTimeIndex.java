@@ -0,0 +1,209 @@
+package com.example.demo.order;
+
+import com.example.demo.entity.Order;
+import com.example.demo.event.OrderChangedEvent;
+import com.example.demo.event.OrdersPurgedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// createdAt üzerinde zaman kovalı bellek içi indeks. Her kova [start, start + width) aralığındaki
+// siparişlerin ID ve zamanlarını ilkel dizilerde tutar; aralık sorguları sadece ilgili kovalara bakar,
+// eski kovalar tek bir indeksli DELETE ile bütün olarak düşürülür.
+// Ekleme maliyeti: skip list'te kova bulma + dizinin sonuna ekleme.
+@Component
+public class OrderTimeIndex {
+
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
+    private final long bucketMillis;
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    public OrderTimeIndex(JdbcTemplate jdbc,
+                          ApplicationEventPublisher events,
+                          @Value("${demo.orders.partition.bucket:PT1H}") Duration bucketWidth) {
+        this.jdbc = jdbc;
+        this.events = events;
+        this.bucketMillis = bucketWidth.toMillis();
+    }
+
+    // WarmupRunner (LOWEST_PRECEDENCE) başlamadan önce kurulmuş olmalı
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        buckets.clear();
+        jdbc.query("select id, created_at from orders where created_at is not null", rs -> {
+            add(rs.getLong(1), rs.getObject(2, LocalDateTime.class));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(event.current());
+            case DELETED -> remove(event.previous());
+            case UPDATED -> {
+                // createdAt güncellemede değişmez
+            }
+        }
+    }
+
+    // [from, to) aralığındaki sipariş ID'leri, zamana göre sıralı
+    public List<Long> idsBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        long fromMillis = from != null ? toMillis(from) : Long.MIN_VALUE;
+        long toMillis = to != null ? toMillis(to) : Long.MAX_VALUE;
+        if (fromMillis >= toMillis) {
+            // Boş veya ters aralık; subMap ters sınırlarla IllegalArgumentException atar
+            return List.of();
+        }
+        Long fromKey = from != null ? bucketStart(fromMillis) : null;
+        NavigableMap<Long, Bucket> range = fromKey != null
+                ? buckets.subMap(fromKey, true, toMillis == Long.MAX_VALUE ? Long.MAX_VALUE : toMillis, false)
+                : buckets.headMap(toMillis, false);
+
+        List<Long> ids = new ArrayList<>();
+        for (Bucket bucket : range.values()) {
+            if (bucket.collect(fromMillis, toMillis, ids, limit)) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    // createdAt < before olan tüm kovaları ve siparişlerini siler
+    public Map<String, Long> dropBefore(LocalDateTime before) {
+        long cutoff = bucketStart(toMillis(before));
+        NavigableMap<Long, Bucket> old = buckets.headMap(cutoff, false);
+        if (old.isEmpty()) {
+            return Map.of("droppedBuckets", 0L, "deletedOrders", 0L);
+        }
+        LocalDateTime cutoffTime = LocalDateTime.ofEpochSecond(Math.floorDiv(cutoff, 1000),
+                (int) Math.floorMod(cutoff, 1000) * 1_000_000, ZoneOffset.UTC);
+        long dropped = old.size();
+        long deleted = jdbc.update("delete from orders where created_at < ?", cutoffTime);
+        old.clear();
+        events.publishEvent(new OrdersPurgedEvent(cutoffTime, deleted));
+        return Map.of("droppedBuckets", dropped, "deletedOrders", deleted);
+    }
+
+    public Map<String, Object> stats() {
+        long orders = 0;
+        for (Bucket bucket : buckets.values()) {
+            orders += bucket.size();
+        }
+        return Map.of("buckets", buckets.size(), "orders", orders, "bucketMillis", bucketMillis);
+    }
+
+    private void add(Order order) {
+        if (order.getCreatedAt() != null) {
+            add(order.getId(), order.getCreatedAt());
+        }
+    }
+
+    private void add(long id, LocalDateTime createdAt) {
+        long millis = toMillis(createdAt);
+        buckets.computeIfAbsent(bucketStart(millis), k -> new Bucket()).add(id, millis);
+    }
+
+    private void remove(Order order) {
+        if (order.getCreatedAt() == null) {
+            return;
+        }
+        Bucket bucket = buckets.get(bucketStart(toMillis(order.getCreatedAt())));
+        if (bucket != null) {
+            bucket.remove(order.getId());
+        }
+    }
+
+    private long bucketStart(long millis) {
+        return Math.floorDiv(millis, bucketMillis) * bucketMillis;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static final class Bucket {
+
+        private long[] ids = new long[16];
+        private long[] times = new long[16];
+        private int size;
+        private boolean sorted = true;
+
+        synchronized void add(long id, long millis) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+            }
+            if (size > 0 && millis < times[size - 1]) {
+                sorted = false;
+            }
+            ids[size] = id;
+            times[size] = millis;
+            size++;
+        }
+
+        synchronized void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                    System.arraycopy(times, i + 1, times, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        // limit'e ulaşıldıysa true
+        synchronized boolean collect(long from, long to, List<Long> out, int limit) {
+            if (!sorted) {
+                sort();
+            }
+            for (int i = 0; i < size; i++) {
+                if (times[i] >= from && times[i] < to) {
+                    out.add(ids[i]);
+                    if (out.size() >= limit) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void sort() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(times[a], times[b]));
+            long[] sortedIds = new long[ids.length];
+            long[] sortedTimes = new long[times.length];
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedTimes[i] = times[order[i]];
+            }
+            ids = sortedIds;
+            times = sortedTimes;
+            sorted = true;
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.AppUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
 
     boolean existsByUsername(String username);
 
     Optional<AppUser> findByUsername(String username);
+
+    @Query("select u.username from AppUser u")
+    Stream<String> streamAllUsernames();
 }
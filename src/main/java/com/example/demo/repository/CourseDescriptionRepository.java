@@ -0,0 +1,15 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.CourseDescription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface CourseDescriptionRepository extends JpaRepository<CourseDescription, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from CourseDescription d where d.courseId = :courseId")
+    int deleteByCourseId(Long courseId);
+}
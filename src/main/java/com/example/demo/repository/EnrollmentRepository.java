@@ -0,0 +1,25 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Enrollment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from Enrollment e where e.courseId = :courseId and e.studentId = :studentId")
+    int deleteByCourseIdAndStudentId(Long courseId, Long studentId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Enrollment e where e.courseId = :courseId")
+    int deleteByCourseId(Long courseId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Enrollment e where e.studentId = :studentId")
+    int deleteByStudentId(Long studentId);
+}
@@ -0,0 +1,7 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.EntityChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EntityChangeRepository extends JpaRepository<EntityChange, Long> {
+}
@@ -2,7 +2,33 @@ package com.example.demo.repository;
 
 
 import com.example.demo.entity.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+
+    Optional<Order> findByOrderNumber(String orderNumber);
+
+    // Koleksiyon join'i ile LIMIT birlikte kullanılamaz (Hibernate sayfalamayı bellekte yapar);
+    // bu yüzden sayfalama iki adımdır: önce sadece ID sayfası, sonra o ID'ler kalemleriyle birlikte.
+    @Query("select o.id from Order o order by o.id")
+    List<Long> findIdPage(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"lines", "lines.product"})
+    @Query("select o from Order o where o.id in :ids order by o.id")
+    List<Order> findWithLinesByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"lines", "lines.product"})
+    @Query("select o from Order o order by o.id")
+    List<Order> findAllWithLines();
+
+    @EntityGraph(attributePaths = {"lines", "lines.product"})
+    Optional<Order> findWithLinesById(Long id);
 }
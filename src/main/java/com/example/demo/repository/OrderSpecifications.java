@@ -0,0 +1,35 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+// Sadece verilen filtreler SQL'e eklenir; "(:x is null or ...)" kalıbı indeks kullanımını engellediği için kullanılmaz.
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> search(String customer, String status, Double minAmount, Double maxAmount, Long afterId) {
+        Specification<Order> spec = Specification.unrestricted();
+        if (customer != null && !customer.isBlank()) {
+            spec = spec.and((root, q, cb) -> cb.like(root.get("customerName"), escapeLike(customer) + "%", '\\'));
+        }
+        if (status != null && !status.isBlank()) {
+            spec = spec.and((root, q, cb) -> cb.equal(root.get("status"), status));
+        }
+        if (minAmount != null) {
+            spec = spec.and((root, q, cb) -> cb.greaterThanOrEqualTo(root.get("totalAmount"), minAmount));
+        }
+        if (maxAmount != null) {
+            spec = spec.and((root, q, cb) -> cb.lessThanOrEqualTo(root.get("totalAmount"), maxAmount));
+        }
+        if (afterId != null) {
+            spec = spec.and((root, q, cb) -> cb.greaterThan(root.get("id"), afterId));
+        }
+        return spec;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
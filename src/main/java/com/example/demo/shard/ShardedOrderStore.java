@@ -0,0 +1,298 @@
+package com.example.demo.shard;
+
+import com.example.demo.entity.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+// Siparişleri N veri kaynağına dağıtan depo. Satır, ekleme anında shard anahtarının (orderNumber veya
+// customerName) hash'i ile bir shard'a yerleşir ve orada kalır; global ID = yerel sıra * N + shard,
+// böylece ID ile okuma tek shard'a gider. Liste, arama ve toplama sorguları tüm shard'lara paralel
+// gönderilir; ID sıralı sonuçlar k-yollu birleştirme ile sıra korunarak sayfalanır.
+// orderNumber tekilliği sadece shard içinde garanti edilir; anahtar orderNumber ise bu globaldir.
+public class ShardedOrderStore implements AutoCloseable {
+
+    public enum ShardKey {
+        ORDER_NUMBER, CUSTOMER_NAME
+    }
+
+    public static class ShardKeyChangeException extends RuntimeException {
+        public ShardKeyChangeException(String message) {
+            super(message);
+        }
+    }
+
+    private static final String COLUMNS = "id, order_number, customer_name, total_amount, status, created_at";
+
+    private static final RowMapper<Order> ORDER_ROW = (rs, i) -> new Order(
+            rs.getLong(1), rs.getString(2), rs.getString(3),
+            rs.getObject(4) != null ? rs.getDouble(4) : null, rs.getString(5),
+            rs.getObject(6, LocalDateTime.class));
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards;
+    private final List<TransactionTemplate> transactions;
+    private final ShardKey key;
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedOrderStore(List<DataSource> dataSources, ShardKey key) {
+        this.key = key;
+        this.dataSources = List.copyOf(dataSources);
+        this.shards = new ArrayList<>(dataSources.size());
+        this.transactions = new ArrayList<>(dataSources.size());
+        for (DataSource dataSource : dataSources) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            createSchema(jdbc);
+            shards.add(jdbc);
+            transactions.add(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        }
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public ShardKey shardKey() {
+        return key;
+    }
+
+    public Order create(Order order) {
+        int shard = shardFor(order);
+        JdbcTemplate jdbc = shards.get(shard);
+        long id = transactions.get(shard).execute(status -> {
+            Long local = jdbc.queryForObject("select next value for order_seq", Long.class);
+            long global = local * shards.size() + shard;
+            jdbc.update("insert into orders (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?)",
+                    global, order.getOrderNumber(), order.getCustomerName(), order.getTotalAmount(),
+                    order.getStatus(), order.getCreatedAt() != null ? Timestamp.valueOf(order.getCreatedAt()) : null);
+            return global;
+        });
+        order.setId(id);
+        return order;
+    }
+
+    public Optional<Order> findById(long id) {
+        if (id < 0) {
+            return Optional.empty();
+        }
+        return first(shardOf(id).query("select " + COLUMNS + " from orders where id = ?", ORDER_ROW, id));
+    }
+
+    public Optional<Order> findByOrderNumber(String orderNumber) {
+        String sql = "select " + COLUMNS + " from orders where order_number = ?";
+        if (key == ShardKey.ORDER_NUMBER) {
+            return first(shards.get(shardFor(orderNumber)).query(sql, ORDER_ROW, orderNumber));
+        }
+        return first(fanOut(jdbc -> jdbc.query(sql, ORDER_ROW, orderNumber)).stream().flatMap(List::stream).toList());
+    }
+
+    // Shard anahtarını değiştiren güncelleme reddedilir; satırın shard'ı ve ID'si sabittir
+    public Optional<Order> update(long id, Order changes) {
+        return findById(id).map(existing -> {
+            if (!shardValue(existing).equals(shardValue(changes))) {
+                throw new ShardKeyChangeException(switch (key) {
+                    case ORDER_NUMBER -> "orderNumber";
+                    case CUSTOMER_NAME -> "customerName";
+                } + " is the shard key and cannot be changed");
+            }
+            existing.setOrderNumber(changes.getOrderNumber());
+            existing.setCustomerName(changes.getCustomerName());
+            existing.setTotalAmount(changes.getTotalAmount());
+            existing.setStatus(changes.getStatus());
+            shardOf(id).update("update orders set order_number = ?, customer_name = ?, total_amount = ?, status = ? where id = ?",
+                    existing.getOrderNumber(), existing.getCustomerName(), existing.getTotalAmount(), existing.getStatus(), id);
+            return existing;
+        });
+    }
+
+    public boolean delete(long id) {
+        return id >= 0 && shardOf(id).update("delete from orders where id = ?", id) > 0;
+    }
+
+    // Tüm shard'larda aynı filtre, her biri ID sıralı en fazla limit satır döner; sonuçlar birleştirilir
+    public List<Order> search(String customerPrefix, String status, Double minAmount, Double maxAmount,
+                              Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("select " + COLUMNS + " from orders where 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (customerPrefix != null && !customerPrefix.isBlank()) {
+            sql.append(" and customer_name like ? escape '\\'");
+            args.add(customerPrefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        if (status != null && !status.isBlank()) {
+            sql.append(" and status = ?");
+            args.add(status);
+        }
+        if (minAmount != null) {
+            sql.append(" and total_amount >= ?");
+            args.add(minAmount);
+        }
+        if (maxAmount != null) {
+            sql.append(" and total_amount <= ?");
+            args.add(maxAmount);
+        }
+        if (afterId != null) {
+            sql.append(" and id > ?");
+            args.add(afterId);
+        }
+        sql.append(" order by id fetch first ? rows only");
+        args.add(limit);
+        Object[] params = args.toArray();
+        return mergeById(fanOut(jdbc -> jdbc.query(sql.toString(), ORDER_ROW, params)), limit);
+    }
+
+    // Durum bazında sayı/toplam/min/max; ortalama birleştirilmiş toplamdan hesaplanır
+    public Map<String, Map<String, Object>> aggregateByStatus() {
+        List<List<Map<String, Object>>> perShard = fanOut(jdbc -> jdbc.queryForList(
+                "select status, count(*) as cnt, sum(total_amount) as total, min(total_amount) as lo, "
+                        + "max(total_amount) as hi from orders group by status"));
+        Map<String, double[]> merged = new LinkedHashMap<>();
+        for (List<Map<String, Object>> rows : perShard) {
+            for (Map<String, Object> row : rows) {
+                String status = String.valueOf(row.get("STATUS"));
+                double[] acc = merged.computeIfAbsent(status,
+                        k -> new double[]{0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY});
+                acc[0] += ((Number) row.get("CNT")).doubleValue();
+                if (row.get("TOTAL") != null) {
+                    acc[1] += ((Number) row.get("TOTAL")).doubleValue();
+                    acc[2] = Math.min(acc[2], ((Number) row.get("LO")).doubleValue());
+                    acc[3] = Math.max(acc[3], ((Number) row.get("HI")).doubleValue());
+                }
+            }
+        }
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        merged.forEach((status, acc) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", (long) acc[0]);
+            stats.put("sum", acc[1]);
+            stats.put("avg", acc[0] == 0 ? null : acc[1] / acc[0]);
+            stats.put("min", Double.isInfinite(acc[2]) ? null : acc[2]);
+            stats.put("max", Double.isInfinite(acc[3]) ? null : acc[3]);
+            result.put(status, stats);
+        });
+        return result;
+    }
+
+    public List<Long> countsPerShard() {
+        return fanOut(jdbc -> jdbc.queryForObject("select count(*) from orders", Long.class));
+    }
+
+    // Veri kaynakları bu depoya aittir ve onunla birlikte kapanır
+    @Override
+    public void close() throws Exception {
+        fanOut.shutdownNow();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private <T> List<T> fanOut(Function<JdbcTemplate, T> query) {
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (JdbcTemplate jdbc : shards) {
+            futures.add(fanOut.submit(() -> query.apply(jdbc)));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Interrupted during shard fan-out", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    // Her liste ID'ye göre sıralı; en küçük başlar kuyruğunda tutulur
+    private static List<Order> mergeById(List<List<Order>> sortedLists, int limit) {
+        record Cursor(List<Order> list, int index) {
+            Order head() {
+                return list.get(index);
+            }
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparingLong((Cursor c) -> c.head().getId()));
+        for (List<Order> list : sortedLists) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor(list, 0));
+            }
+        }
+        List<Order> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.index() + 1 < cursor.list().size()) {
+                heads.add(new Cursor(cursor.list(), cursor.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private JdbcTemplate shardOf(long id) {
+        return shards.get((int) (id % shards.size()));
+    }
+
+    private int shardFor(Order order) {
+        return shardFor(shardValue(order));
+    }
+
+    private String shardValue(Order order) {
+        String value = key == ShardKey.ORDER_NUMBER ? order.getOrderNumber() : order.getCustomerName();
+        return value != null ? value : "";
+    }
+
+    // String.hashCode JVM'ler arası sabittir; murmur3 fmix32 ile dağılım iyileştirilir
+    private int shardFor(String value) {
+        int h = value.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shards.size());
+    }
+
+    private static Optional<Order> first(List<Order> orders) {
+        return orders.isEmpty() ? Optional.empty() : Optional.of(orders.get(0));
+    }
+
+    private static void createSchema(JdbcTemplate jdbc) {
+        jdbc.execute("create sequence if not exists order_seq start with 1");
+        jdbc.execute("""
+                create table if not exists orders (
+                    id bigint primary key,
+                    order_number varchar(255) not null,
+                    customer_name varchar(255) not null,
+                    total_amount double precision,
+                    status varchar(255),
+                    created_at timestamp(6),
+                    constraint uk_shard_orders_order_number unique (order_number)
+                )""");
+        jdbc.execute("create index if not exists idx_shard_orders_customer_name on orders (customer_name)");
+        jdbc.execute("create index if not exists idx_shard_orders_status_amount on orders (status, total_amount)");
+    }
+}
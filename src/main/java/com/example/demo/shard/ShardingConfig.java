@@ -0,0 +1,37 @@
+package com.example.demo.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// demo.orders.sharding.enabled=true ile /sharded/orders uç noktaları ve N shard veri kaynağı açılır.
+// Shard veri kaynakları bean olarak yayınlanmaz; uygulamanın ana DataSource'u (JPA) değişmeden kalır.
+// URL şablonundaki %d shard numarası ile doldurulur; varsayılan N adet bellek içi H2 veritabanıdır.
+@Configuration
+@ConditionalOnProperty(name = "demo.orders.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardedOrderStore shardedOrderStore(
+            @Value("${demo.orders.sharding.shards:4}") int shardCount,
+            @Value("${demo.orders.sharding.key:ORDER_NUMBER}") ShardedOrderStore.ShardKey key,
+            @Value("${demo.orders.sharding.url-template:jdbc:h2:mem:orders_shard_%d;DB_CLOSE_DELAY=-1}") String urlTemplate,
+            @Value("${demo.orders.sharding.username:sa}") String username,
+            @Value("${demo.orders.sharding.password:}") String password) {
+        List<DataSource> dataSources = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            dataSources.add(DataSourceBuilder.create()
+                    .url(urlTemplate.formatted(i))
+                    .username(username)
+                    .password(password)
+                    .build());
+        }
+        return new ShardedOrderStore(dataSources, key);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.sql;
+
+import com.example.demo.util.LogHistogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// JDBC ifadesi başına süre kayıtları. Normalleştirilmiş SQL şekli başına bir histogram tutulur;
+// eşik üstündeki çalışmalar, tetikleyen controller metodu ile sınırlı bir yavaş sorgu kaydına yazılır.
+@Component
+public class SqlMetrics {
+
+    public record SlowQuery(LocalDateTime at, String shape, String sql, long micros, int bindParameters,
+                            String handler, String thread) {
+    }
+
+    private static final String OTHER = "(other)";
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final long slowThresholdNanos;
+    private final int slowLogSize;
+    private final int maxShapes;
+    // Hibernate aynı SQL metinlerini tekrar tekrar üretir; normalleştirme sonucu metin başına saklanır
+    private final ConcurrentHashMap<String, String> shapeBySql = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LogHistogram> histograms = new ConcurrentHashMap<>();
+    private final ArrayDeque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    public SqlMetrics(@Value("${demo.sql.slow-threshold-ms:100}") long slowThresholdMillis,
+                      @Value("${demo.sql.slow-log-size:200}") int slowLogSize,
+                      @Value("${demo.sql.max-shapes:1000}") int maxShapes) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.slowLogSize = slowLogSize;
+        this.maxShapes = maxShapes;
+    }
+
+    void record(String sql, long nanos, int bindParameters) {
+        String shape = shapeOf(sql);
+        LogHistogram histogram = histograms.get(shape);
+        if (histogram == null) {
+            histogram = histograms.size() < maxShapes
+                    ? histograms.computeIfAbsent(shape, k -> new LogHistogram())
+                    : histograms.computeIfAbsent(OTHER, k -> new LogHistogram());
+        }
+        histogram.record(nanos / 1000);
+        if (nanos >= slowThresholdNanos) {
+            SlowQuery slow = new SlowQuery(LocalDateTime.now(), shape, truncate(sql), nanos / 1000, bindParameters,
+                    currentHandler(), Thread.currentThread().toString());
+            synchronized (slowQueries) {
+                if (slowQueries.size() == slowLogSize) {
+                    slowQueries.removeFirst();
+                }
+                slowQueries.addLast(slow);
+            }
+        }
+    }
+
+    // Toplam süreye göre en pahalı ifade şekilleri
+    public List<Map<String, Object>> statements(int limit) {
+        List<Map.Entry<String, LogHistogram>> entries = new ArrayList<>(histograms.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, LogHistogram> e) -> e.getValue().totalMicros()).reversed());
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<String, LogHistogram> e : entries.subList(0, Math.min(limit, entries.size()))) {
+            LogHistogram h = e.getValue();
+            long count = h.count();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("sql", e.getKey());
+            row.put("count", count);
+            row.put("totalMillis", h.totalMicros() / 1000);
+            row.put("avgMicros", count == 0 ? 0 : h.totalMicros() / count);
+            row.put("p50Micros", h.percentile(50));
+            row.put("p95Micros", h.percentile(95));
+            row.put("p99Micros", h.percentile(99));
+            row.put("maxMicros", h.maxMicros());
+            result.add(row);
+        }
+        return result;
+    }
+
+    // En yeni kayıt başta
+    public List<SlowQuery> slowQueries() {
+        synchronized (slowQueries) {
+            List<SlowQuery> copy = new ArrayList<>(slowQueries);
+            Collections.reverse(copy);
+            return copy;
+        }
+    }
+
+    public void reset() {
+        histograms.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    private String shapeOf(String sql) {
+        String shape = shapeBySql.get(sql);
+        if (shape == null) {
+            shape = SqlNormalizer.normalize(sql);
+            // Sabit içeren ad-hoc SQL'ler önbelleği şişirmesin
+            if (shapeBySql.size() < maxShapes * 4) {
+                shapeBySql.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    private static String truncate(String sql) {
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+    private static String currentHandler() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object handler = attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return handler != null ? handler.toString() : null;
+    }
+}
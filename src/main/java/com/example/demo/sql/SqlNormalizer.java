@@ -0,0 +1,87 @@
+package com.example.demo.sql;
+
+// SQL metnini "şekline" indirger: string ve sayı sabitleri '?' olur, IN (?, ?, ...) listeleri tek '?'ye
+// katlanır, boşluklar tek boşluğa iner ve her şey küçük harfe çevrilir. Aynı sorgunun farklı
+// parametrelerle çalışmaları böylece aynı istatistik satırına düşer.
+final class SqlNormalizer {
+
+    private SqlNormalizer() {
+    }
+
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int n = sql.length();
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i++;
+                while (i < n) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                appendPlaceholder(out);
+            } else if (Character.isDigit(c) && !partOfIdentifier(out)) {
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                appendPlaceholder(out);
+            } else if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (!out.isEmpty() && out.charAt(out.length() - 1) != ' ') {
+                    out.append(' ');
+                }
+            } else if (c == '?') {
+                i++;
+                appendPlaceholder(out);
+            } else {
+                out.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+        int end = out.length();
+        while (end > 0 && out.charAt(end - 1) == ' ') {
+            end--;
+        }
+        out.setLength(end);
+        return out.toString();
+    }
+
+    // "(?, ?" sonrasında gelen '?' eklenmez; liste "(?" olarak kalır
+    private static void appendPlaceholder(StringBuilder out) {
+        int len = out.length();
+        int j = len - 1;
+        if (j >= 0 && out.charAt(j) == ' ') {
+            j--;
+        }
+        if (j >= 1 && out.charAt(j) == ',' && listOfPlaceholders(out, j - 1)) {
+            out.setLength(j);
+            return;
+        }
+        out.append('?');
+    }
+
+    private static boolean listOfPlaceholders(StringBuilder out, int j) {
+        if (j >= 0 && out.charAt(j) == ' ') {
+            j--;
+        }
+        return j >= 1 && out.charAt(j) == '?' && out.charAt(j - 1) == '(';
+    }
+
+    private static boolean partOfIdentifier(StringBuilder out) {
+        if (out.isEmpty()) {
+            return false;
+        }
+        char prev = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(prev) || prev == '_' || prev == '$';
+    }
+}
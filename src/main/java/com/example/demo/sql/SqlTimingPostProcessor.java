@@ -0,0 +1,32 @@
+package com.example.demo.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Context'teki DataSource bean'lerini TimingDataSource ile sarar. demo.sql.timing.enabled=false süre ölçümünü ve
+// /admin/sql kaydını kapatır; sarmalayıcı yine de kalır, JFR TransactionEvent ifade/satır sayıları ondan gelir.
+// SqlMetrics ilk sarmalamada tembel olarak alınır; böylece post-processor erken bean oluşturmaz.
+@Component
+public class SqlTimingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlMetrics> metrics;
+    private final boolean timing;
+
+    public SqlTimingPostProcessor(ObjectProvider<SqlMetrics> metrics,
+                                  @Value("${demo.sql.timing.enabled:true}") boolean timing) {
+        this.metrics = metrics;
+        this.timing = timing;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)) {
+            return new TimingDataSource(dataSource, timing ? metrics.getObject() : null);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.sql;
+
+import com.example.demo.jfr.JfrTransactionListener;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Her JDBC ifadesinin çalışma süresini SqlMetrics'e yazan DataSource sarmalayıcısı.
+// Connection ve Statement nesneleri dinamik proxy ile sarılır; sadece execute* çağrıları ölçülür,
+// diğer tüm çağrılar doğrudan hedefe iletilir. Aynı noktada JFR transaction event sayaçları da güncellenir.
+// metrics null ise (demo.sql.timing.enabled=false) süre ölçülmez, sadece JFR sayaçları tutulur.
+public class TimingDataSource extends DelegatingDataSource {
+
+    private final SqlMetrics metrics;
+
+    public TimingDataSource(DataSource target, SqlMetrics metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer rows) {
+            return rows;
+        }
+        if (result instanceof Long rows) {
+            return rows;
+        }
+        if (result instanceof int[] batch) {
+            long total = 0;
+            for (int rows : batch) {
+                total += Math.max(0, rows);
+            }
+            return total;
+        }
+        if (result instanceof long[] batch) {
+            long total = 0;
+            for (long rows : batch) {
+                total += Math.max(0, rows);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            Object result = TimingDataSource.invoke(target, method, args);
+            return switch (name) {
+                case "prepareStatement" -> statementProxy(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> statementProxy(CallableStatement.class, (Statement) result, (String) args[0]);
+                case "createStatement" -> statementProxy(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        }
+
+        private Object statementProxy(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private int bindParameters;
+        private String batchSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s
+                        : preparedSql != null ? preparedSql : batchSql;
+                long start = metrics != null ? System.nanoTime() : 0;
+                Object result = null;
+                try {
+                    result = TimingDataSource.invoke(target, method, args);
+                    return result;
+                } finally {
+                    if (metrics != null && sql != null) {
+                        metrics.record(sql, System.nanoTime() - start, bindParameters);
+                    }
+                    JfrTransactionListener.statementExecuted(affectedRows(result));
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bindParameters = Math.max(bindParameters, index);
+            } else if (name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql = (String) args[0];
+            }
+            return TimingDataSource.invoke(target, method, args);
+        }
+    }
+}
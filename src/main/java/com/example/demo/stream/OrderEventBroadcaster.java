@@ -0,0 +1,242 @@
+package com.example.demo.stream;
+
+import com.example.demo.entity.Order;
+import com.example.demo.event.OrderChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Sipariş değişikliklerini SSE abonelerine dağıtır.
+// Her abonenin sınırlı bir tamponu vardır; tamponu dolan (yavaş) abone kapatılır ve
+// Last-Event-ID ile yeniden bağlandığında kaçırdıklarını replay halkasından alır.
+// Boşta bekleyen bağlantılar thread tutmaz; gönderim sadece kuyrukta olay varken virtual thread üzerinde yapılır.
+// Yeniden bağlanan abonenin tamponu, replay'in tamamı artı canlı olaylar için buffer-size kadar yer alacak boyuttadır.
+// Olay ID'leri "<epoch>-<sıra>" biçimindedir; epoch süreç başlangıcıdır, yeniden başlatmadan önceki bir ID reset alır.
+@Component
+public class OrderEventBroadcaster {
+
+    // id == NO_ID: istemcinin Last-Event-ID imlecini değiştirmeyen kontrol olayı (reset)
+    record StreamEvent(long id, String name, Map<String, Object> data) {
+    }
+
+    private static final long NO_ID = 0;
+
+    record Cursor(long epoch, long seq) {
+    }
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMs;
+    private final long epoch = System.currentTimeMillis();
+
+    private final Object lock = new Object();
+    private final ArrayDeque<StreamEvent> replay;
+    private long lastId;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OrderEventBroadcaster(@Value("${demo.orders.stream.buffer-size:256}") int bufferSize,
+                                 @Value("${demo.orders.stream.replay-size:1024}") int replaySize,
+                                 @Value("${demo.orders.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMs = timeoutMs;
+        this.replay = new ArrayDeque<>(replaySize);
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber;
+        synchronized (lock) {
+            List<StreamEvent> backlog = new ArrayList<>();
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                Cursor cursor = parseEventId(lastEventId);
+                long resumeFrom;
+                String reason = null;
+                if (cursor == null || cursor.epoch() != epoch) {
+                    // ID önceki bir sürece ait (veya okunamıyor); sıra numaraları karşılaştırılamaz
+                    reason = "restarted";
+                    resumeFrom = 0;
+                } else {
+                    resumeFrom = cursor.seq();
+                    StreamEvent oldest = replay.peekFirst();
+                    if (oldest != null && oldest.id() > resumeFrom + 1 || resumeFrom > lastId) {
+                        reason = "replay-gap";
+                    }
+                }
+                if (reason != null) {
+                    // Kaçırılan olayların bir kısmı halkadan düşmüş ya da ID bu sürece ait değil; tam senkron gerekiyor.
+                    // Reset ID taşımaz, imleç replay olaylarıyla ilerlemeye devam eder.
+                    backlog.add(new StreamEvent(NO_ID, "reset", Map.of("reason", reason)));
+                }
+                for (StreamEvent event : replay) {
+                    if (event.id() > resumeFrom) {
+                        backlog.add(event);
+                    }
+                }
+            }
+            subscriber = new Subscriber(emitter, backlog.size() + bufferSize);
+            subscriber.buffer.addAll(backlog);
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        // complete() çağrılmazsa zaman aşımı AsyncRequestTimeoutException olarak hata işleyicisine düşer
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        synchronized (lock) {
+            StreamEvent streamEvent = new StreamEvent(++lastId, eventName(event), payload(event));
+            if (replay.size() == replaySize) {
+                replay.pollFirst();
+            }
+            replay.addLast(streamEvent);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(streamEvent);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${demo.orders.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.isEmpty()) {
+                sender.execute(subscriber::ping);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private static String eventName(OrderChangedEvent event) {
+        return switch (event.type()) {
+            case CREATED -> "order-created";
+            case UPDATED -> event.statusChanged() ? "order-status-changed" : "order-updated";
+            case DELETED -> "order-deleted";
+        };
+    }
+
+    private static Map<String, Object> payload(OrderChangedEvent event) {
+        Order order = event.current() != null ? event.current() : event.previous();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("type", event.type());
+        data.put("orderId", order.getId());
+        data.put("orderNumber", order.getOrderNumber());
+        data.put("customerName", order.getCustomerName());
+        data.put("totalAmount", order.getTotalAmount());
+        data.put("status", order.getStatus());
+        if (event.previous() != null && event.current() != null) {
+            data.put("previousStatus", event.previous().getStatus());
+        }
+        return data;
+    }
+
+    private String formatEventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    private static Cursor parseEventId(String lastEventId) {
+        String value = lastEventId.trim();
+        int dash = value.indexOf('-');
+        if (dash <= 0) {
+            return null;
+        }
+        try {
+            return new Cursor(Long.parseLong(value.substring(0, dash)), Long.parseLong(value.substring(dash + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void enqueue(StreamEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                // Yavaş tüketici: bağlantıyı kapat, istemci Last-Event-ID ile devam eder.
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (!buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamEvent event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data());
+                    if (event.id() != NO_ID) {
+                        builder.id(formatEventId(event.id()));
+                    }
+                    emitter.send(builder);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed) {
+                schedule();
+            }
+        }
+
+        void ping() {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+            emitter.complete();
+        }
+    }
+}
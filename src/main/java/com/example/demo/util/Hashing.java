@@ -0,0 +1,24 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    // FNV-1a + murmur3 fmix64 finalizer; kriptografik değil, dağılım için yeterli.
+    public static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
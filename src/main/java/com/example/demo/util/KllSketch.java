@@ -0,0 +1,193 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// KLL quantile sketch (Karnin, Lang, Liberty 2016). Seviye h'deki her eleman 2^h ağırlık taşır;
+// dolan seviye sıralanıp rastgele tek/çift konumdaki elemanları bir üst seviyeye taşınarak yarıya indirilir.
+// Bellek O(k log(n/k)); k=200 ile normalleştirilmiş rank hatası ~%1.4 (Apache DataSketches ölçümleri).
+// Birleştirme seviye seviye ekleyip tekrar sıkıştırmaktır.
+public class KllSketch {
+
+    private static final double DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private final List<double[]> levels = new ArrayList<>();
+    private final List<Integer> sizes = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public KllSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8");
+        }
+        this.k = k;
+        addLevel();
+    }
+
+    public synchronized void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        append(0, value);
+        count++;
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+        compress();
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    // q in [0, 1]; boş sketch için NaN
+    public synchronized double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0) {
+            return min;
+        }
+        if (q >= 1) {
+            return max;
+        }
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            double[] level = levels.get(h);
+            for (int i = 0; i < sizes.get(h); i++) {
+                values[n] = level[i];
+                weights[n] = 1L << h;
+                n++;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        long total = 0;
+        for (long w : weights) {
+            total += w;
+        }
+        double target = q * total;
+        long cumulative = 0;
+        for (int i : order) {
+            cumulative += weights[i];
+            if (cumulative >= target) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    public void merge(KllSketch other) {
+        // Karşı sketch kendi kilidi altında kopyalanır; iki kilit aynı anda tutulmaz
+        KllSketch theirs = other.copy();
+        if (theirs.count == 0) {
+            return;
+        }
+        synchronized (this) {
+            while (levels.size() < theirs.levels.size()) {
+                addLevel();
+            }
+            for (int h = 0; h < theirs.levels.size(); h++) {
+                double[] level = theirs.levels.get(h);
+                for (int i = 0; i < theirs.sizes.get(h); i++) {
+                    append(h, level[i]);
+                }
+            }
+            min = count == 0 ? theirs.min : Math.min(min, theirs.min);
+            max = count == 0 ? theirs.max : Math.max(max, theirs.max);
+            count += theirs.count;
+            compress();
+        }
+    }
+
+    public synchronized KllSketch copy() {
+        KllSketch copy = new KllSketch(k);
+        copy.levels.clear();
+        copy.sizes.clear();
+        for (int h = 0; h < levels.size(); h++) {
+            copy.levels.add(levels.get(h).clone());
+            copy.sizes.add(sizes.get(h));
+        }
+        copy.count = count;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    public synchronized int retainedItems() {
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        return retained;
+    }
+
+    public double normalizedRankError() {
+        // DataSketches'in tek taraflı hata formülü: 1.66 / k^0.9 civarı; k=200 için ~%1.4
+        return 1.66 / Math.pow(k, 0.9);
+    }
+
+    private int capacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(2, (int) Math.ceil(k * Math.pow(DECAY, depth)));
+    }
+
+    private void compress() {
+        for (int h = 0; h < levels.size(); h++) {
+            if (sizes.get(h) >= capacity(h)) {
+                if (h + 1 == levels.size()) {
+                    addLevel();
+                }
+                compact(h);
+            }
+        }
+    }
+
+    // Sıralanmış seviyenin yarısı (rastgele tek veya çift konumlar) bir üst seviyeye çıkar.
+    // Tek sayıda eleman varsa en büyüğü bu seviyede kalır.
+    private void compact(int h) {
+        double[] level = levels.get(h);
+        int size = sizes.get(h);
+        Arrays.sort(level, 0, size);
+        int even = size & ~1;
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = offset; i < even; i += 2) {
+            append(h + 1, level[i]);
+        }
+        if (even < size) {
+            level[0] = level[size - 1];
+            sizes.set(h, 1);
+        } else {
+            sizes.set(h, 0);
+        }
+    }
+
+    private void append(int h, double value) {
+        double[] level = levels.get(h);
+        int size = sizes.get(h);
+        if (size == level.length) {
+            level = Arrays.copyOf(level, size * 2);
+            levels.set(h, level);
+        }
+        level[size] = value;
+        sizes.set(h, size + 1);
+    }
+
+    private void addLevel() {
+        levels.add(new double[Math.max(8, k)]);
+        sizes.add(0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Aynı anahtar için eşzamanlı çağrıları tek yürütmede birleştirir: ilk gelen (lider) yükleyiciyi çalıştırır,
+// o sürerken gelenler aynı sonucu bekler. Sonuç saklanmaz; uçuş bitince anahtar düşer.
+// Lider hata alırsa bekleyenler aynı hatayla serbest kalır. Her uçuşun kendi son tarihi vardır;
+// bu süreyi aşan bekleyen TimeoutException alır, lider kendi işini bitirir.
+public class SingleFlight<K, V> {
+
+    public static class TimeoutException extends RuntimeException {
+        public TimeoutException(Object key) {
+            super("Timed out waiting for in-flight load of " + key);
+        }
+    }
+
+    private record Flight<V>(CompletableFuture<V> result, long deadline) {
+    }
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(long timeoutMillis) {
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        Flight<V> mine = new Flight<>(new CompletableFuture<>(), System.nanoTime() + timeoutNanos);
+        Flight<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(key, existing);
+        }
+
+        executions.increment();
+        try {
+            V value = loader.get();
+            mine.result().complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            errors.increment();
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // Yazma sonrası çağrılır: yeni gelenler devam eden (muhtemelen eski değeri okuyan) uçuşa katılmaz
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void resetStats() {
+        executions.reset();
+        coalesced.reset();
+        errors.reset();
+        timeouts.reset();
+    }
+
+    public Map<String, Object> stats() {
+        long leaders = executions.sum();
+        long followers = coalesced.sum();
+        Map<String, Object> resp = new LinkedHashMap<>();
+        resp.put("executions", leaders);
+        resp.put("coalesced", followers);
+        resp.put("coalescingRate", leaders + followers == 0 ? 0.0 : (double) followers / (leaders + followers));
+        resp.put("errors", errors.sum());
+        resp.put("timeouts", timeouts.sum());
+        resp.put("inFlight", inFlight.size());
+        return resp;
+    }
+
+    private V await(K key, Flight<V> flight) {
+        long remaining = flight.deadline() - System.nanoTime();
+        try {
+            return flight.result().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            timeouts.increment();
+            throw new TimeoutException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
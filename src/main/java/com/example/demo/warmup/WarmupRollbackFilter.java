@@ -0,0 +1,83 @@
+package com.example.demo.warmup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+// Isınma istekleri: tüm istek tek bir transaction içinde çalışır ve sonunda geri alınır. Controller ve
+// repository transaction'ları buna katılır; @TransactionalEventListener ve afterCommit işleri tetiklenmez.
+// Sadece isınma sürerken, loopback'ten ve o çalıştırmaya özel token ile gelen istekler etkilenir.
+@Component
+public class WarmupRollbackFilter extends OncePerRequestFilter {
+
+    static final String TOKEN_HEADER = "X-Warmup-Token";
+
+    private final TransactionTemplate tx;
+    private volatile String token;
+
+    public WarmupRollbackFilter(TransactionTemplate tx) {
+        this.tx = tx;
+    }
+
+    String open() {
+        token = UUID.randomUUID().toString();
+        return token;
+    }
+
+    void close() {
+        token = null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String current = token;
+        return current == null || !current.equals(request.getHeader(TOKEN_HEADER)) || !isLoopback(request.getRemoteAddr());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            tx.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                try {
+                    chain.doFilter(request, response);
+                    // Yazma SQL'i de çalışsın diye bekleyen değişiklikler geri almadan önce gönderilir
+                    status.flush();
+                } catch (IOException | ServletException e) {
+                    throw new WrappedException(e);
+                } catch (RuntimeException e) {
+                    // Kısıt ihlali vb. isınma için önemsiz; istek zaten cevaplandı
+                }
+            });
+        } catch (WrappedException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw (ServletException) e.getCause();
+        }
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static class WrappedException extends RuntimeException {
+        WrappedException(Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.demo.warmup;
+
+import com.example.demo.exception.ErrorMetrics;
+import com.example.demo.exception.SampledErrorLogger;
+import com.example.demo.sql.SqlMetrics;
+import com.example.demo.util.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+// Açılışta JIT ısınması: gerçek uç noktalara loopback üzerinden istek atılır (filtreler, Hibernate, Jackson
+// dahil tüm yol derlensin diye); yazmalar WarmupRollbackFilter ile geri alınır. Turlar, JIT derleme süresinin
+// tur süresine oranı art arda birkaç turda settle-ratio altında kalana veya süre bütçesi bitene kadar sürer.
+// ApplicationReadyEvent dinleyicisi senkron çalıştığı için Spring Boot readiness'ı ancak bundan sonra
+// ACCEPTING_TRAFFIC yapar; /health/readiness o zamana kadar 503 döner.
+@Component
+public class WarmupRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private record Call(String method, String path, String body) {
+    }
+
+    // %1$d her çağrıda değişen bir sayıdır (benzersiz alanlar için)
+    private static final List<Call> CALLS = List.of(
+            new Call("GET", "/products", null),
+            new Call("GET", "/products/1", null),
+            new Call("GET", "/products/999999", null),
+            new Call("POST", "/products", """
+                    {"name":"Warmup %1$d","category":"Warmup","price":10.5,"stock":3}"""),
+            new Call("PUT", "/products/999999", """
+                    {"name":"Warmup","category":"Warmup","price":1.0,"stock":1}"""),
+            new Call("GET", "/courses", null),
+            new Call("GET", "/courses/1", null),
+            new Call("POST", "/courses", """
+                    {"code":"WARM%1$d","title":"Warmup","description":"Warmup course","credit":3}"""),
+            new Call("GET", "/students", null),
+            new Call("GET", "/students/1", null),
+            new Call("POST", "/students", """
+                    {"firstName":"Warm","lastName":"Up","email":"warmup%1$d@example.com"}"""),
+            new Call("GET", "/courses/1/students", null),
+            new Call("GET", "/students/1/courses", null),
+            new Call("GET", "/enrollments/query?all=1", null),
+            new Call("GET", "/orders?page=0&size=50", null),
+            new Call("GET", "/orders/1", null),
+            new Call("GET", "/orders/by-number/WARMUP", null),
+            new Call("GET", "/orders/search?customer=A&size=20", null),
+            new Call("GET", "/orders/analytics", null),
+            new Call("GET", "/orders/sketches", null),
+            new Call("GET", "/orders/top-customers?n=10", null),
+            new Call("POST", "/orders", """
+                    {"orderNumber":"WARMUP-%1$d","customerName":"Warmup","totalAmount":99.9,"status":"CREATED"}"""),
+            new Call("POST", "/batch-get", """
+                    {"products":[1,2,3],"courses":[1],"students":[1],"orders":[1]}"""),
+            new Call("GET", "/auth/available?username=warmup", null),
+            new Call("POST", "/auth/login", """
+                    {"username":"warmup-%1$d","password":"warmup"}"""),
+            new Call("POST", "/auth/register", """
+                    {"username":"warmup-%1$d","password":"warmup","fullName":"Warmup"}""")
+    );
+
+    private final WarmupRollbackFilter rollbackFilter;
+    private final ApplicationAvailability availability;
+    private final ErrorMetrics errorMetrics;
+    private final SampledErrorLogger errorLogger;
+    private final SqlMetrics sqlMetrics;
+    private final SingleFlight<Long, byte[]> productReads;
+    private final boolean enabled;
+    private final long maxDurationMs;
+    private final double settleRatio;
+    private final int stableRounds;
+    private final int minRounds;
+    private final int concurrency;
+
+    private volatile Map<String, Object> result = Map.of("status", "NOT_STARTED");
+
+    public WarmupRunner(WarmupRollbackFilter rollbackFilter,
+                        ApplicationAvailability availability,
+                        ErrorMetrics errorMetrics,
+                        SampledErrorLogger errorLogger,
+                        SqlMetrics sqlMetrics,
+                        SingleFlight<Long, byte[]> productReads,
+                        @Value("${demo.warmup.enabled:true}") boolean enabled,
+                        @Value("${demo.warmup.max-duration-ms:30000}") long maxDurationMs,
+                        @Value("${demo.warmup.settle-ratio:0.05}") double settleRatio,
+                        @Value("${demo.warmup.stable-rounds:3}") int stableRounds,
+                        @Value("${demo.warmup.min-rounds:5}") int minRounds,
+                        @Value("${demo.warmup.concurrency:4}") int concurrency) {
+        this.rollbackFilter = rollbackFilter;
+        this.availability = availability;
+        this.errorMetrics = errorMetrics;
+        this.errorLogger = errorLogger;
+        this.sqlMetrics = sqlMetrics;
+        this.productReads = productReads;
+        this.enabled = enabled;
+        this.maxDurationMs = maxDurationMs;
+        this.settleRatio = settleRatio;
+        this.stableRounds = Math.max(1, stableRounds);
+        this.minRounds = Math.max(1, minRounds);
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    // İndeks yeniden oluşturmaları HIGHEST_PRECEDENCE ile işaretli; ısınma hepsi bittikten sonra başlar
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!enabled) {
+            result = Map.of("status", "DISABLED");
+            return;
+        }
+        // MockMvc testlerinde gerçek sunucu yoktur
+        if (!(event.getApplicationContext() instanceof WebServerApplicationContext web)) {
+            result = Map.of("status", "SKIPPED");
+            return;
+        }
+        int port = web.getWebServer().getPort();
+        result = Map.of("status", "RUNNING");
+        log.info("JIT warm-up started (budget {} ms, readiness {})", maxDurationMs, availability.getReadinessState());
+
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean measurable = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long startCompile = measurable ? jit.getTotalCompilationTime() : 0;
+        long previousCompile = startCompile;
+        double lastRatio = -1;
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofMillis(maxDurationMs).toNanos();
+        int rounds = 0;
+        int stable = 0;
+        String stopReason = "budget";
+        LongAdder requests = new LongAdder();
+        LongAdder failures = new LongAdder();
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        String token = rollbackFilter.open();
+        try {
+            while (System.nanoTime() < deadline) {
+                long roundStart = System.nanoTime();
+                runRound(client, port, token, rounds, requests, failures);
+                long roundMs = Math.max(1, (System.nanoTime() - roundStart) / 1_000_000);
+                rounds++;
+                if (measurable) {
+                    // Derleyici thread'leri paralel çalıştığından oran çok çekirdekte 1'i aşabilir
+                    long compile = jit.getTotalCompilationTime();
+                    lastRatio = (double) (compile - previousCompile) / roundMs;
+                    previousCompile = compile;
+                    stable = lastRatio <= settleRatio ? stable + 1 : 0;
+                    if (rounds >= minRounds && stable >= stableRounds) {
+                        stopReason = "settled";
+                        break;
+                    }
+                } else if (rounds >= minRounds) {
+                    stopReason = "min-rounds";
+                    break;
+                }
+                if (requests.sum() > 0 && failures.sum() == requests.sum()) {
+                    stopReason = "unreachable";
+                    break;
+                }
+            }
+        } finally {
+            rollbackFilter.close();
+            // Isınma trafiği (bilerek tetiklenen 404/409'lar dahil) /admin/errors, /admin/sql ve
+            // /admin/single-flight sayaçlarına gerçek trafik gibi yansımasın
+            errorMetrics.reset();
+            errorLogger.resetCounts();
+            sqlMetrics.reset();
+            productReads.resetStats();
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("status", "DONE");
+        summary.put("stopReason", stopReason);
+        summary.put("rounds", rounds);
+        summary.put("requests", requests.sum());
+        summary.put("failedRequests", failures.sum());
+        summary.put("elapsedMs", elapsedMs);
+        summary.put("compileTimeMs", measurable ? previousCompile - startCompile : null);
+        summary.put("lastRoundCompileRatio", measurable ? Math.round(lastRatio * 1000) / 1000.0 : null);
+        result = summary;
+        log.info("JIT warm-up finished: {}", summary);
+    }
+
+    public Map<String, Object> stats() {
+        return result;
+    }
+
+    private void runRound(HttpClient client, int port, String token, int round, LongAdder requests, LongAdder failures) {
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.execute(() -> {
+                    for (int i = 0; i < CALLS.size(); i++) {
+                        // Her işçi listeye farklı yerden başlar; aynı anda farklı yollar çalışır
+                        Call call = CALLS.get((i + worker * 7) % CALLS.size());
+                        long unique = (long) round * 1_000_000 + worker * 1000L + i;
+                        send(client, port, token, call, unique, requests, failures);
+                    }
+                });
+            }
+        }
+    }
+
+    private static void send(HttpClient client, int port, String token, Call call, long unique,
+                             LongAdder requests, LongAdder failures) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + call.path()))
+                .timeout(Duration.ofSeconds(10))
+                .header(WarmupRollbackFilter.TOKEN_HEADER, token);
+        if (call.body() == null) {
+            request.method(call.method(), HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(call.method(), HttpRequest.BodyPublishers.ofString(call.body().formatted(unique)));
+        }
+        requests.increment();
+        try {
+            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500) {
+                failures.increment();
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failures.increment();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    @Test
+    void hashIsSaltedAndVerifies() {
+        PasswordHasher hasher = new PasswordHasher(1000, 1, 4);
+        String first = hasher.hash("123456");
+        String second = hasher.hash("123456");
+
+        assertThat(first).startsWith("pbkdf2-sha256$1000$").isNotEqualTo(second);
+        assertThat(hasher.matches("123456", first)).isTrue();
+        assertThat(hasher.matches("1234567", first)).isFalse();
+        assertThat(hasher.needsRehash(first)).isFalse();
+        assertThat(new PasswordHasher(2000, 1, 4).needsRehash(first)).isTrue();
+        hasher.destroy();
+    }
+
+    @Test
+    void legacyPlaintextMatchesAndNeedsRehash() {
+        PasswordHasher hasher = new PasswordHasher(1000, 1, 4);
+
+        assertThat(hasher.matches("secret", "secret")).isTrue();
+        assertThat(hasher.matches("Secret", "secret")).isFalse();
+        assertThat(hasher.needsRehash("secret")).isTrue();
+        hasher.destroy();
+    }
+
+    @Test
+    void fullQueueRejectsImmediately() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(1_000_000, 1, 1);
+        int rejected = 0;
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> hasher.hash("pw")));
+            }
+            for (Future<String> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(PasswordHasher.OverloadedException.class);
+                    rejected++;
+                }
+            }
+        }
+        assertThat(rejected).isGreaterThan(0);
+        assertThat(hasher.stats().get("rejected")).isEqualTo((long) rejected);
+        hasher.destroy();
+    }
+}
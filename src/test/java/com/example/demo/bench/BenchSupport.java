@@ -0,0 +1,68 @@
+package com.example.demo.bench;
+
+import com.example.demo.DemoApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+// Benchmark main sınıfları için ortak yardımcılar. Surefire bu sınıfları test olarak çalıştırmaz.
+final class BenchSupport {
+
+    private BenchSupport() {
+    }
+
+    static ConfigurableApplicationContext start(String... args) {
+        // Benchmark kendi ısınma turlarını yapar; uygulamanın açılış ısınması ölçümü geciktirmesin
+        List<String> all = new ArrayList<>(List.of("--server.port=0", "--demo.warmup.enabled=false"));
+        all.addAll(List.of(args));
+        return SpringApplication.run(DemoApplication.class, all.toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext ctx) {
+        return ((WebServerApplicationContext) ctx).getWebServer().getPort();
+    }
+
+    // Sabit süre boyunca kapalı model yük üretir, saniyedeki istek sayısını döner (hata cevapları dahil).
+    // G/Ç istisnası worker'ı durdurmaz; sayılır ve süre sonunda raporlanır, rps'e katılmaz.
+    static double throughput(HttpClient client, int concurrency, Duration duration,
+                             IntFunction<HttpRequest> requestForIteration) throws InterruptedException {
+        LongAdder completed = new LongAdder();
+        LongAdder exceptions = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.execute(() -> {
+                    int i = worker;
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            client.send(requestForIteration.apply(i), HttpResponse.BodyHandlers.discarding());
+                            completed.increment();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            exceptions.increment();
+                        }
+                        i += concurrency;
+                    }
+                });
+            }
+        }
+        if (exceptions.sum() > 0) {
+            System.out.printf("  (%d requests failed with an exception)%n", exceptions.sum());
+        }
+        return completed.sum() / (duration.toNanos() / 1e9);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.bench;
+
+import com.example.demo.entity.Course;
+import com.example.demo.entity.CourseDescription;
+import com.example.demo.repository.CourseDescriptionRepository;
+import com.example.demo.repository.CourseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Çok KB'lık açıklamalara sahip bir ders kataloğunda açıklamanın ayrı, sıkıştırılmış tabloya taşınmasının
+// kazancı: GET /courses cevap boyutu, veritabanında saklanan bayt ve listenin heap'te kapladığı yer.
+// "eager" sütunları, açıklamanın eskisi gibi her Course satırıyla gelmesi durumunu hesaplar.
+//
+// mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.bench.CourseDescriptionBenchmark
+public class CourseDescriptionBenchmark {
+
+    private static final String[] WORDS = ("http api rest json status code header body request response test assert "
+            + "token auth cache latency throughput schema contract mock stub endpoint pagination filter sort "
+            + "validation error retry timeout idempotent payload encoding query path parameter").split(" ");
+
+    public static void main(String[] args) throws Exception {
+        int courses = Integer.getInteger("bench.courses", 2_000);
+        int descriptionBytes = Integer.getInteger("bench.description-bytes", 4_096);
+        ObjectMapper json = new ObjectMapper();
+
+        try (ConfigurableApplicationContext ctx = BenchSupport.start()) {
+            String base = "http://localhost:" + BenchSupport.port(ctx);
+            HttpClient client = HttpClient.newHttpClient();
+            SplittableRandom random = new SplittableRandom(47);
+
+            long rawDescriptionBytes = 0;
+            long descriptionJsonBytes = 0;
+            for (int i = 0; i < courses; i++) {
+                String description = description(random, descriptionBytes);
+                rawDescriptionBytes += description.getBytes(StandardCharsets.UTF_8).length;
+                descriptionJsonBytes += ",\"description\":".length() + json.writeValueAsBytes(description).length;
+                String body = json.writeValueAsString(Map.of("code", "BENCH" + i, "title", "Bench course " + i,
+                        "description", description, "credit", 1 + i % 6));
+                HttpResponse<Void> created = client.send(HttpRequest.newBuilder(URI.create(base + "/courses"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding());
+                if (created.statusCode() != 201) {
+                    throw new IllegalStateException("create failed: " + created.statusCode());
+                }
+            }
+
+            HttpRequest list = HttpRequest.newBuilder(URI.create(base + "/courses")).GET().build();
+            long listBytes = client.send(list, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+            long detailBytes = client.send(HttpRequest.newBuilder(URI.create(base + "/courses/1")).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray()).body().length;
+
+            Long storedBytes = ctx.getBean(JdbcTemplate.class)
+                    .queryForObject("select sum(octet_length(text)) from course_description", Long.class);
+
+            CourseRepository courseRepo = ctx.getBean(CourseRepository.class);
+            CourseDescriptionRepository descriptionRepo = ctx.getBean(CourseDescriptionRepository.class);
+            long lazyHeap = retainedBytes(courseRepo::findAll);
+            long eagerHeap = retainedBytes(() -> {
+                List<Course> all = courseRepo.findAll();
+                Map<Long, String> texts = descriptionRepo.findAll().stream()
+                        .collect(Collectors.toMap(CourseDescription::getCourseId, CourseDescription::getText));
+                all.forEach(c -> c.setDescription(texts.get(c.getId())));
+                return all;
+            });
+
+            System.out.printf("%n[course-description] courses=%d description~%d B%n", courses, descriptionBytes);
+            System.out.printf("%-28s %14s %14s %8s%n", "metric", "eager", "lazy", "ratio");
+            row("GET /courses response KB", listBytes + descriptionJsonBytes, listBytes, v -> v / 1024.0);
+            row("description storage KB", rawDescriptionBytes, storedBytes == null ? 0 : storedBytes, v -> v / 1024.0);
+            row("retained list heap KB", eagerHeap, lazyHeap, v -> v / 1024.0);
+            System.out.printf("%-28s %14s %14.1f%n%n", "GET /courses/{id} KB", "-", detailBytes / 1024.0);
+        }
+    }
+
+    private static void row(String metric, long eager, long lazy, Function<Long, Double> unit) {
+        System.out.printf("%-28s %14.1f %14.1f %7.1fx%n", metric, unit.apply(eager), unit.apply(lazy),
+                lazy == 0 ? 0.0 : (double) eager / lazy);
+    }
+
+    private static String description(SplittableRandom random, int bytes) {
+        StringBuilder sb = new StringBuilder(bytes + 16);
+        while (sb.length() < bytes) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return sb.toString();
+    }
+
+    // Liste tutulurken ve bırakıldıktan sonra GC sonrası kullanılan heap farkı
+    private static long retainedBytes(Supplier<List<Course>> loader) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        List<Course> held = loader.get();
+        long withList = usedAfterGc(memory);
+        int size = held.size();
+        held = null;
+        long withoutList = usedAfterGc(memory);
+        if (size == 0) {
+            throw new IllegalStateException("no courses loaded");
+        }
+        return Math.max(0, withList - withoutList);
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.bench;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+// %100 hatalı istek karışımı altında "full" ve "sampled" hata modlarının throughput karşılaştırması.
+// Karışım: validation hatası (400), bozuk JSON (400), tip uyuşmazlığı (500, stack trace loglanır).
+//
+// mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.bench.ErrorPathBenchmark
+public class ErrorPathBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("bench.concurrency", 64);
+        Duration duration = Duration.ofSeconds(Long.getLong("bench.seconds", 15));
+
+        for (String mode : new String[]{"full", "sampled"}) {
+            try (ConfigurableApplicationContext ctx = BenchSupport.start("--demo.errors.log-mode=" + mode)) {
+                String base = "http://localhost:" + BenchSupport.port(ctx);
+                HttpClient client = HttpClient.newHttpClient();
+                BenchSupport.throughput(client, concurrency, Duration.ofSeconds(3), i -> request(base, i));
+                double rps = BenchSupport.throughput(client, concurrency, duration, i -> request(base, i));
+                System.out.printf("%n[error-path] mode=%-7s concurrency=%d throughput=%.0f req/s%n%n", mode, concurrency, rps);
+            }
+        }
+    }
+
+    private static HttpRequest request(String base, int i) {
+        return switch (i % 3) {
+            case 0 -> HttpRequest.newBuilder(URI.create(base + "/products"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"\",\"price\":-1}"))
+                    .build();
+            case 1 -> HttpRequest.newBuilder(URI.create(base + "/orders"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"orderNumber\":"))
+                    .build();
+            default -> HttpRequest.newBuilder(URI.create(base + "/products/not-a-number")).GET().build();
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.bench;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.Product;
+import com.example.demo.json.EntityJsonSerializers;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Product/Order listelerinin JSON'a yazılması: reflection tabanlı varsayılan yol ile
+// elle yazılmış serializer + paylaşılan buffer havuzu + önceden kurulmuş ObjectWriter karşılaştırması.
+// Her serileştirme, istek işleme gibi yeni bir virtual thread üzerinde çalışır.
+//
+// mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.bench.SerializationBenchmark
+public class SerializationBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper reflective = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper optimized = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule()
+                        .addSerializer(new EntityJsonSerializers.ProductSerializer())
+                        .addSerializer(new EntityJsonSerializers.OrderSerializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        optimized.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool());
+
+        ObjectWriter productWriter = optimized.writerFor(new TypeReference<List<Product>>() { });
+        ObjectWriter orderWriter = optimized.writerFor(new TypeReference<List<Order>>() { });
+
+        System.out.printf("%n%-8s %8s %-11s %12s %12s %14s%n", "entity", "size", "mode", "avg ms", "min ms", "alloc KB/op");
+        for (int size : new int[]{1_000, 10_000, 100_000}) {
+            List<Product> products = products(size);
+            List<Order> orders = orders(size);
+            int iterations = Math.max(10, 2_000_000 / size);
+
+            run("product", size, "reflective", iterations, () -> reflective.writeValue(DISCARD, products));
+            run("product", size, "optimized", iterations, () -> productWriter.writeValue(DISCARD, products));
+            run("order", size, "reflective", iterations, () -> reflective.writeValue(DISCARD, orders));
+            run("order", size, "optimized", iterations, () -> orderWriter.writeValue(DISCARD, orders));
+        }
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static void run(String entity, int size, String mode, int iterations, Task task) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            onVirtualThread(task);
+        }
+        long[] nanos = new long[iterations];
+        long allocBefore = THREADS.getTotalThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            onVirtualThread(task);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = THREADS.getTotalThreadAllocatedBytes() - allocBefore;
+        Arrays.sort(nanos);
+        System.out.printf("%-8s %8d %-11s %12.3f %12.3f %14.1f%n", entity, size, mode,
+                Arrays.stream(nanos).average().orElse(0) / 1e6, nanos[0] / 1e6, allocated / 1024.0 / iterations);
+    }
+
+    private static void onVirtualThread(Task task) throws InterruptedException {
+        Thread thread = Thread.ofVirtual().start(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.join();
+    }
+
+    private static List<Product> products(int size) {
+        SplittableRandom random = new SplittableRandom(1);
+        List<Product> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new Product((long) i, "Ürün " + i, "Kategori " + random.nextInt(20),
+                    random.nextInt(100_000) / 100.0, random.nextInt(500)));
+        }
+        return list;
+    }
+
+    private static List<Order> orders(int size) {
+        SplittableRandom random = new SplittableRandom(2);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Order> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new Order((long) i, "ORD-" + i, "Müşteri " + random.nextInt(5_000),
+                    random.nextInt(1_000_000) / 100.0, "CREATED",
+                    base.plusNanos(random.nextLong(365L * 24 * 3600 * 1_000_000_000L))));
+        }
+        return list;
+    }
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+}
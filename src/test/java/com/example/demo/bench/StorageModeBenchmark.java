@@ -0,0 +1,226 @@
+package com.example.demo.bench;
+
+import com.example.demo.util.LogHistogram;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// H2 depolama modlarının karşılaştırması: heap (jdbc:h2:mem), offheap (nioMemFS) ve file (MVStore dosyası).
+// Her mod aynı heap ayarıyla ayrı JVM'de çalışır; datagen profiliyle aynı seed'den veri yüklenir, sonra
+// GC sonrası heap, direct buffer kullanımı ve karışık CRUD yükü altında gecikme ile GC duraklamaları ölçülür.
+//
+// mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.bench.StorageModeBenchmark
+//   -Dbench.orders=1000000 -Dbench.heap=2g -Dbench.seconds=30
+public class StorageModeBenchmark {
+
+    private static final String RESULT = "[storage]";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1) {
+            runMode(args[0]);
+            return;
+        }
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        System.out.printf("%n%-8s %10s %10s %10s %10s %10s %9s %9s %11s %11s %9s %10s  %s%n", "mode", "heap MB", "direct MB",
+                "rps", "p50 ms", "p99 ms", "gc pauses", "max ms", "total ms", "load s", "non-2xx", "exceptions", "statuses");
+        for (String mode : new String[]{"heap", "offheap", "file"}) {
+            List<String> command = new ArrayList<>(List.of(java,
+                    "-Xmx" + System.getProperty("bench.heap", "2g"),
+                    "-XX:MaxDirectMemorySize=" + System.getProperty("bench.direct", "4g")));
+            for (String key : List.of("bench.orders", "bench.products", "bench.seconds", "bench.concurrency")) {
+                if (System.getProperty(key) != null) {
+                    command.add("-D" + key + "=" + System.getProperty(key));
+                }
+            }
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), StorageModeBenchmark.class.getName(), mode));
+            Process child = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(child.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    if (line.startsWith(RESULT)) {
+                        System.out.println(line.substring(RESULT.length() + 1));
+                    }
+                }
+            }
+            if (child.waitFor() != 0) {
+                System.out.printf("%-8s failed (exit %d)%n", mode, child.exitValue());
+            }
+        }
+        System.out.println();
+    }
+
+    private static void runMode(String mode) throws Exception {
+        long orders = Long.getLong("bench.orders", 500_000);
+        long products = Long.getLong("bench.products", 50_000);
+        int concurrency = Integer.getInteger("bench.concurrency", 16);
+        Duration duration = Duration.ofSeconds(Long.getLong("bench.seconds", 20));
+
+        Path dir = Files.createTempDirectory("h2-bench");
+        String profiles = switch (mode) {
+            case "heap" -> "datagen";
+            case "offheap" -> "datagen,offheap";
+            case "file" -> "datagen,file";
+            default -> throw new IllegalArgumentException("unknown mode " + mode);
+        };
+        long loadStart = System.nanoTime();
+        try (ConfigurableApplicationContext ctx = BenchSupport.start(
+                "--spring.profiles.active=" + profiles,
+                "--demo.storage.dir=" + dir,
+                "--demo.datagen.orders=" + orders,
+                "--demo.datagen.products=" + products,
+                "--demo.datagen.students=" + products,
+                "--logging.level.root=WARN")) {
+            double loadSeconds = (System.nanoTime() - loadStart) / 1e9;
+            long heapBytes = usedHeapAfterGc();
+            long directBytes = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                    .filter(pool -> pool.getName().equals("direct"))
+                    .mapToLong(BufferPoolMXBean::getMemoryUsed).sum();
+
+            String base = "http://localhost:" + BenchSupport.port(ctx);
+            HttpClient client = HttpClient.newHttpClient();
+            crud(client, base, orders, products, concurrency, Duration.ofSeconds(5), new LogHistogram(), new CrudCounts());
+
+            LogHistogram pauses = new LogHistogram();
+            NotificationListener listener = (notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                // Eşzamanlı döngüler uygulama thread'lerini durdurmaz
+                if (!info.getGcName().contains("Concurrent")) {
+                    pauses.record(info.getGcInfo().getDuration() * 1000);
+                }
+            };
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) gc).addNotificationListener(listener, null, null);
+            }
+            LogHistogram latency = new LogHistogram();
+            CrudCounts counts = new CrudCounts();
+            crud(client, base, orders, products, concurrency, duration, latency, counts);
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) gc).removeNotificationListener(listener);
+            }
+
+            System.out.printf("%s %-8s %10.1f %10.1f %10.0f %10.2f %10.2f %9d %9d %11d %11.1f %9d %10d  %s%n", RESULT, mode,
+                    heapBytes / 1048576.0, directBytes / 1048576.0, counts.ok.sum() / (duration.toNanos() / 1e9),
+                    latency.percentile(50) / 1000.0, latency.percentile(99) / 1000.0,
+                    pauses.count(), pauses.maxMicros() / 1000, pauses.totalMicros() / 1000, loadSeconds,
+                    counts.failedResponses(), counts.exceptions.sum(), counts.statuses());
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    // rps ve gecikme yalnızca 2xx cevaplardan hesaplanır; hata cevapları durum koduna göre, istisnalar ayrıca sayılır
+    private static final class CrudCounts {
+        final LongAdder ok = new LongAdder();
+        final LongAdder exceptions = new LongAdder();
+        final ConcurrentHashMap<Integer, LongAdder> byStatus = new ConcurrentHashMap<>();
+
+        long failedResponses() {
+            return byStatus.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        String statuses() {
+            return byStatus.isEmpty() ? "-" : new TreeMap<>(byStatus).entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue().sum())
+                    .collect(Collectors.joining(","));
+        }
+    }
+
+    // Karışık CRUD yükü: %60 sipariş okuma, %20 sipariş oluşturma, %15 tutar güncelleme, %5 ürün okuma
+    private static void crud(HttpClient client, String base, long orders, long products, int concurrency,
+                             Duration duration, LogHistogram latency, CrudCounts counts) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long i = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = request(base, random, orders, products, worker, i++);
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            // Tek bir bağlantı hatası worker'ı durdurmaz; süre sonuna kadar yük devam eder
+                            counts.exceptions.increment();
+                            continue;
+                        }
+                        if (status / 100 == 2) {
+                            latency.record((System.nanoTime() - start) / 1000);
+                            counts.ok.increment();
+                        } else {
+                            counts.byStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private static HttpRequest request(String base, ThreadLocalRandom random, long orders, long products, int worker, long i) {
+        int p = random.nextInt(100);
+        long orderId = 1 + random.nextLong(orders);
+        if (p < 60) {
+            return HttpRequest.newBuilder(URI.create(base + "/orders/" + orderId)).GET().build();
+        }
+        if (p < 80) {
+            return json(HttpRequest.newBuilder(URI.create(base + "/orders")), "POST", """
+                    {"orderNumber":"BENCH-%d-%d-%d","customerName":"Bench %d","totalAmount":%d.5,"status":"CREATED"}"""
+                    .formatted(worker, i, System.nanoTime(), random.nextInt(1000), random.nextInt(10_000)));
+        }
+        if (p < 95) {
+            return json(HttpRequest.newBuilder(URI.create(base + "/orders/" + orderId)), "PUT", """
+                    {"orderNumber":"GEN-%d","customerName":"Customer-%d","totalAmount":%d.25,"status":"PAID"}"""
+                    .formatted(orderId, 1 + random.nextInt(1000), random.nextInt(10_000)));
+        }
+        return HttpRequest.newBuilder(URI.create(base + "/products/" + (1 + random.nextLong(products)))).GET().build();
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
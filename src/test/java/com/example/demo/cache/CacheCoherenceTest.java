@@ -0,0 +1,83 @@
+package com.example.demo.cache;
+
+import com.example.demo.DemoApplication;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// İki uygulama instance'ı tek bir H2 TCP sunucusunu paylaşır; birinde yapılan güncelleme
+// diğerinin cache'inden change-log üzerinden düşmelidir.
+class CacheCoherenceTest {
+
+    private static Server h2;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        h2 = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + h2.getPort() + "/mem:coherence;DB_CLOSE_DELAY=-1";
+        nodeA = start(url);
+        nodeB = start(url);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (h2 != null) {
+            h2.stop();
+        }
+    }
+
+    @Test
+    void updateOnOneNodeInvalidatesCacheOnTheOther() throws Exception {
+        String created = send(nodeA, "POST", "/products", "{\"name\":\"Klavye\",\"category\":\"Elektronik\",\"price\":100,\"stock\":5}");
+        String id = created.replaceAll(".*\"id\":(\\d+).*", "$1");
+
+        assertThat(send(nodeB, "GET", "/products/" + id, null)).contains("\"price\":100.0");
+
+        send(nodeA, "PUT", "/products/" + id, "{\"name\":\"Klavye\",\"category\":\"Elektronik\",\"price\":250,\"stock\":5}");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        String seenByB;
+        do {
+            Thread.sleep(50);
+            seenByB = send(nodeB, "GET", "/products/" + id, null);
+        } while (!seenByB.contains("\"price\":250.0") && System.currentTimeMillis() < deadline);
+        assertThat(seenByB).contains("\"price\":250.0");
+    }
+
+    private static ConfigurableApplicationContext start(String url) {
+        return SpringApplication.run(DemoApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--demo.cache.poll-ms=50",
+                "--demo.cache.ttl-ms=600000",
+                "--demo.warmup.enabled=false");
+    }
+
+    private static String send(ConfigurableApplicationContext node, String method, String path, String body) throws Exception {
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
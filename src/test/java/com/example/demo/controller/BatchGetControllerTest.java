@@ -0,0 +1,122 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.OrderLine;
+import com.example.demo.entity.Product;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Küçük parça boyutu ve ID sınırı ile: 5 ID 2'lik parçalarla 3 IN sorgusu, 6'dan fazla ayrık ID 400
+@SpringBootTest(properties = {
+        "demo.batch-get.chunk-size=2",
+        "demo.batch-get.max-ids=6",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+class BatchGetControllerTest {
+
+    private static final int MISSING = 999_999;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProductRepository products;
+
+    @Autowired
+    private OrderRepository orders;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private static List<Product> catalog;
+    private static Order order;
+
+    @BeforeEach
+    void setUp() {
+        if (catalog != null) {
+            return;
+        }
+        catalog = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            catalog.add(products.save(new Product(null, "Batch-" + i, "Test", 10.0 + i, 5)));
+        }
+        Order o = new Order(null, "ORD-BATCH-1", "Batch", 10.0, "CREATED", LocalDateTime.now());
+        o.getLines().add(new OrderLine(null, o, catalog.get(0), 2, 10.0));
+        order = orders.save(o);
+    }
+
+    @Test
+    void foundInRequestOrderWithNotFoundMarkersAndDeduplication() throws Exception {
+        long p0 = catalog.get(0).getId();
+        long p1 = catalog.get(1).getId();
+        batchGet("""
+                {"products": [%d, %d, %d, null, %d], "courses": [], "orders": [%d, %d]}"""
+                .formatted(p1, MISSING, p1, p0, order.getId(), MISSING))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.found.length()").value(2))
+                .andExpect(jsonPath("$.products.found[0].id").value(p1))
+                .andExpect(jsonPath("$.products.found[1].id").value(p0))
+                .andExpect(jsonPath("$.products.notFound", contains(MISSING)))
+                // Boş liste ve verilmeyen tipler cevapta yer almaz
+                .andExpect(jsonPath("$.courses").doesNotExist())
+                .andExpect(jsonPath("$.students").doesNotExist())
+                .andExpect(jsonPath("$.orders.found[0].orderNumber").value("ORD-BATCH-1"))
+                .andExpect(jsonPath("$.orders.found[0].lines[0].quantity").value(2))
+                .andExpect(jsonPath("$.orders.notFound", contains(MISSING)));
+    }
+
+    @Test
+    void idsAreLoadedInChunks() throws Exception {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        batchGet("""
+                {"products": [%d, %d, %d, %d, %d]}"""
+                .formatted(catalog.get(0).getId(), MISSING, catalog.get(1).getId(), MISSING + 1, catalog.get(2).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.found.length()").value(3))
+                .andExpect(jsonPath("$.products.notFound", contains(MISSING, MISSING + 1)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void tooManyDistinctIdsIsBadRequest() throws Exception {
+        batchGet("""
+                {"products": [1, 2, 3, 4], "students": [5, 6, 7]}""")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("at most 6 ids per request, got 7"))
+                .andExpect(jsonPath("$.path").value("/batch-get"));
+
+        // Tekrarlanan ID'ler sınıra sayılmaz
+        batchGet("""
+                {"products": [1, 2, 3, 1, 2, 3], "students": [5, 6, 7, 5]}""")
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions batchGet(String body) throws Exception {
+        return mvc.perform(post("/batch-get").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+}
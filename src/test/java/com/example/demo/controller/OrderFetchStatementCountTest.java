@@ -0,0 +1,118 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.OrderLine;
+import com.example.demo.entity.Product;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Kalemli sipariş listesi ve detayı, sipariş/kalem sayısından bağımsız sabit sayıda SQL ile okunmalı (N+1 yok)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class OrderFetchStatementCountTest {
+
+    private static final int ORDERS = 30;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private OrderRepository orders;
+
+    @Autowired
+    private ProductRepository products;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private static Order sample;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        if (sample != null) {
+            return;
+        }
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            catalog.add(products.save(new Product(null, "Fetch-" + i, "Test", 10.0 + i, 100)));
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(null, "ORD-FETCH-" + i, "Müşteri " + i, 0.0, "CREATED", LocalDateTime.now());
+            for (int j = 0; j < 3; j++) {
+                order.getLines().add(new OrderLine(null, order, catalog.get((i + j) % catalog.size()), j + 1, 10.0));
+            }
+            sample = orders.save(order);
+        }
+    }
+
+    @Test
+    void pagedListUsesIdPageAndOneFetch() throws Exception {
+        statistics.clear();
+        mvc.perform(get("/orders").param("page", "0").param("size", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].lines[*].productName", hasItem("Fetch-1")));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fullListIsSingleStatement() throws Exception {
+        statistics.clear();
+        mvc.perform(get("/orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lines").isArray());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void detailIsSingleStatement() throws Exception {
+        statistics.clear();
+        mvc.perform(get("/orders/{id}", sample.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines.length()").value(3))
+                .andExpect(jsonPath("$.lines[2].quantity").value(3));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void createPricesLinesFromProducts() throws Exception {
+        Product product = products.save(new Product(null, "Fetch-Create", "Test", 12.5, 10));
+        mvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"orderNumber": "ORD-FETCH-NEW", "customerName": "Ali", "lines": [{"productId": %d, "quantity": 4}]}
+                        """.formatted(product.getId())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalAmount").value(50.0))
+                .andExpect(jsonPath("$.lines[0].unitPrice").value(12.5));
+
+        mvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"orderNumber": "ORD-FETCH-BAD", "customerName": "Ali", "lines": [{"productId": -1, "quantity": 1}]}
+                        """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("product not found: -1"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipfDistributionTest {
+
+    @Test
+    void lowRanksDominateAndSamplesStayInRange() {
+        ZipfDistribution zipf = new ZipfDistribution(1000, 1.07);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[1001];
+        for (int i = 0; i < 200_000; i++) {
+            int rank = zipf.sample(random);
+            assertThat(rank).isBetween(1, 1000);
+            counts[rank]++;
+        }
+        // 1/k^s: birinci sıra ikinciden yaklaşık 2^1.07 kat sık
+        assertThat((double) counts[1] / counts[2]).isBetween(1.8, 2.4);
+        assertThat(counts[1]).isGreaterThan(counts[10]).isGreaterThan(counts[100]);
+    }
+
+    @Test
+    void sameSeedGivesSameSequence() {
+        ZipfDistribution zipf = new ZipfDistribution(50_000, 1.2);
+        SplittableRandom a = new SplittableRandom(7);
+        SplittableRandom b = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(zipf.sample(a)).isEqualTo(zipf.sample(b));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecomputedErrorBodyTest {
+
+    // Spring Boot'un varsayılan ObjectMapper ayarları
+    private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    @Test
+    void matchesJacksonOutputForApiError() throws Exception {
+        PrecomputedErrorBody body = new PrecomputedErrorBody(400, "Bad Request", "Body \"x\" is invalid\n");
+        for (LocalDateTime time : new LocalDateTime[]{
+                LocalDateTime.of(2025, 11, 11, 12, 34, 56, 789_000_000),
+                LocalDateTime.of(2025, 11, 11, 12, 34),
+                LocalDateTime.of(2025, 11, 11, 12, 34, 56, 123_456_789)}) {
+            String path = "/orders/ğ\"\\1";
+            String expected = mapper.writeValueAsString(new ApiError(time, 400, "Bad Request", "Body \"x\" is invalid\n", path));
+
+            assertThat(new String(body.render(time, path), StandardCharsets.UTF_8)).isEqualTo(expected);
+        }
+    }
+}
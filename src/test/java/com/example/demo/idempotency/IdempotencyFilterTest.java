@@ -0,0 +1,102 @@
+package com.example.demo.idempotency;
+
+import com.example.demo.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private OrderRepository orders;
+
+    @Test
+    void retryReturnsOriginalResponseWithoutSecondInsert() throws Exception {
+        long before = orders.count();
+
+        MockHttpServletResponse first = mvc.perform(createOrder("ORD-IDEM-1", "key-1")).andReturn().getResponse();
+        MockHttpServletResponse retry = mvc.perform(createOrder("ORD-IDEM-1", "key-1")).andReturn().getResponse();
+
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(orders.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void concurrentDuplicatesExecuteOnce() throws Exception {
+        long before = orders.count();
+        int clients = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(clients)) {
+            for (int i = 0; i < clients; i++) {
+                Callable<MockHttpServletResponse> call = () -> {
+                    start.await();
+                    return mvc.perform(createOrder("ORD-IDEM-2", "key-2")).andReturn().getResponse();
+                };
+                results.add(pool.submit(call));
+            }
+            start.countDown();
+            for (Future<MockHttpServletResponse> result : results) {
+                assertThat(result.get().getStatus()).isEqualTo(201);
+            }
+        }
+        assertThat(orders.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void sameKeyOnDifferentRequestsIsNotShared() throws Exception {
+        mvc.perform(createOrder("ORD-IDEM-3", "shared-key"));
+        MockHttpServletResponse other = mvc.perform(post("/products")
+                .header(IdempotencyFilter.HEADER, "shared-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"name":"Klavye","category":"Elektronik","price":10.0,"stock":1}""")).andReturn().getResponse();
+        assertThat(other.getStatus()).isEqualTo(201);
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void reusedKeyWithDifferentBodyIsRejected() throws Exception {
+        long before = orders.count();
+
+        MockHttpServletResponse first = mvc.perform(createOrder("ORD-IDEM-4", "key-4")).andReturn().getResponse();
+        MockHttpServletResponse other = mvc.perform(createOrder("ORD-IDEM-5", "key-4")).andReturn().getResponse();
+
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(orders.count()).isEqualTo(before + 1);
+    }
+
+    private static MockHttpServletRequestBuilder createOrder(String orderNumber, String key) {
+        return post("/orders")
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"orderNumber":"%s","customerName":"Ali Yılmaz","totalAmount":10.0}""".formatted(orderNumber));
+    }
+}
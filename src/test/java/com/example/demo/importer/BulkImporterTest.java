@@ -0,0 +1,152 @@
+package com.example.demo.importer;
+
+import com.example.demo.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class BulkImporterTest {
+
+    private static final String CSV = """
+            name,category,price,stock
+            Klavye,Elektronik,10,1
+            Mouse,Elektronik,5,2
+            Klavye,Elektronik,12,3
+            Monitör,Elektronik,100,4
+            """;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:bulk-importer-test;DB_CLOSE_DELAY=-1");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    private BulkImporter importer;
+
+    @AfterEach
+    void tearDown() {
+        if (importer != null) {
+            importer.destroy();
+        }
+        jdbc.execute("drop all objects");
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRowToFindTheBadRow() {
+        jdbc.execute("create table product (id bigint auto_increment primary key, name varchar(255) unique, "
+                + "category varchar(255), price double, stock int)");
+        importer = importer(new DataSourceTransactionManager(dataSource));
+
+        ImportJob job = importer.run(ImportTarget.PRODUCTS, BulkImporter.Format.CSV, csv(), null);
+
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(job.getRowsInserted()).isEqualTo(3);
+        assertThat(job.getErrors()).hasSize(1);
+        assertThat(job.getErrors().get(0).row()).isEqualTo(3);
+        assertThat(jdbc.queryForObject("select count(*) from product", Long.class)).isEqualTo(3);
+    }
+
+    @Test
+    void writerFailureFailsJobInsteadOfHanging() {
+        PlatformTransactionManager broken = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                throw new CannotCreateTransactionException("no connection");
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+        importer = importer(broken);
+
+        ImportJob job = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> importer.run(ImportTarget.PRODUCTS, BulkImporter.Format.CSV, csv(), null));
+
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+        assertThat(job.getFailureMessage()).contains("no connection");
+        assertThat(job.getRowsInserted()).isZero();
+    }
+
+    @Test
+    void rejectedValidationFailsJobInsteadOfHanging() {
+        importer = importer(new DataSourceTransactionManager(dataSource));
+        importer.destroy();
+
+        ImportJob job = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> importer.run(ImportTarget.PRODUCTS, BulkImporter.Format.CSV, csv(), null));
+
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+        assertThat(job.getFailureMessage()).contains("RejectedExecutionException");
+    }
+
+    @Test
+    void duplicateJobIdIsRejectedAndRunningJobsAreNotEvicted() throws InterruptedException {
+        jdbc.execute("create table product (id bigint auto_increment primary key, name varchar(255) unique, "
+                + "category varchar(255), price double, stock int)");
+        importer = importer(new DataSourceTransactionManager(dataSource));
+        importer.run(ImportTarget.PRODUCTS, BulkImporter.Format.CSV, csv(), "first");
+
+        assertThatThrownBy(() -> importer.run(ImportTarget.PRODUCTS, BulkImporter.Format.CSV, csv(), "first"))
+                .isInstanceOf(BulkImporter.DuplicateJobException.class);
+
+        // Parser ilk satırda takılı kalırken çalışan iş kayıt defterinde kalmalı
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ImportTarget<Product> blocking = new ImportTarget<>("blocking", Product.class, ImportTarget.PRODUCTS.insertSql(),
+                row -> {
+                    parsing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ImportTarget.PRODUCTS.fromCsv().apply(row);
+                }, ImportTarget.PRODUCTS.insertArgs());
+        Thread running = Thread.ofVirtual().start(() -> importer.run(blocking, BulkImporter.Format.CSV,
+                new ByteArrayInputStream("name,category,price,stock\nKalem,Kırtasiye,1,1\n".getBytes(StandardCharsets.UTF_8)), "running"));
+        try {
+            assertThat(parsing.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 150; i++) {
+                importer.run(ImportTarget.PRODUCTS, BulkImporter.Format.CSV, new ByteArrayInputStream(new byte[0]), "job-" + i);
+            }
+            assertThat(importer.find("running")).isNotNull();
+            assertThat(importer.find("first")).isNull();
+            assertThat(importer.find("job-149")).isNotNull();
+        } finally {
+            release.countDown();
+        }
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> running.join());
+        assertThat(importer.find("running").getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+    }
+
+    private BulkImporter importer(PlatformTransactionManager transactions) {
+        // Küçük kuyruk: yazıcı durduğunda doğrulayıcıların bloke olacağı durum hemen oluşur
+        return new BulkImporter(new ObjectMapper(), validator, jdbc, new TransactionTemplate(transactions), 2, 1, 100, 2);
+    }
+
+    private static ByteArrayInputStream csv() {
+        return new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsAndEmbeddedNewlines() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("name,category\r\n\"Klavye, USB\",\"a \"\"b\"\"\"\n\"x\ny\",\n"));
+
+        assertThat(csv.next()).containsExactly("name", "category");
+        assertThat(csv.next()).containsExactly("Klavye, USB", "a \"b\"");
+        assertThat(csv.next()).containsExactly("x\ny", "");
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void lastRecordWithoutTrailingNewline() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b\n1,2"));
+
+        assertThat(csv.next()).isEqualTo(List.of("a", "b"));
+        assertThat(csv.next()).isEqualTo(List.of("1", "2"));
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void unterminatedQuoteFails() {
+        CsvReader csv = new CsvReader(new StringReader("\"abc"));
+
+        assertThatThrownBy(csv::next).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.json;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.OrderLine;
+import com.example.demo.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Elle yazılmış serializer'lar varsayılan bean serializer ile birebir aynı JSON'u üretmeli
+class EntityJsonSerializersTest {
+
+    private final ObjectMapper reflective = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ObjectMapper handWritten = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new SimpleModule()
+                    .addSerializer(new EntityJsonSerializers.ProductSerializer())
+                    .addSerializer(new EntityJsonSerializers.OrderSerializer()))
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void productOutputMatchesBeanSerializer() throws Exception {
+        List<Product> products = List.of(
+                new Product(1L, "Klavye \"Pro\"", "Elektronik", 499.9, 25),
+                new Product(2L, "Mouse", "Elektronik", 0.0, 0),
+                new Product(null, null, null, null, null));
+
+        assertThat(handWritten.writeValueAsString(products)).isEqualTo(reflective.writeValueAsString(products));
+    }
+
+    @Test
+    void orderOutputMatchesBeanSerializer() throws Exception {
+        Order withLines = new Order(5L, "ORD-5", "Ece", 1049.7, "PAID", LocalDateTime.of(2025, 11, 12, 9, 0));
+        withLines.getLines().add(new OrderLine(10L, withLines, new Product(1L, "Klavye", "Elektronik", 499.9, 25), 2, 499.9));
+        withLines.getLines().add(new OrderLine(11L, withLines, new Product(2L, null, null, null, null), 1, null));
+        OrderLine unsaved = new OrderLine(null, withLines, null, 3, null);
+        unsaved.setProductId(7L);
+        withLines.getLines().add(unsaved);
+        Order nullLines = new Order(6L, "ORD-6", "Fatma", 0.0, "CREATED", null);
+        nullLines.setLines(null);
+
+        List<Order> orders = List.of(
+                withLines,
+                nullLines,
+                new Order(1L, "ORD-1", "Ali Yılmaz", 1299.99, "CREATED", LocalDateTime.of(2025, 11, 11, 12, 34, 56, 789_000_000)),
+                new Order(2L, "ORD-2", "Ayşe", 1e12, "PAID", LocalDateTime.of(2025, 1, 2, 3, 4, 0)),
+                new Order(3L, "ORD-3", "Can", 1.5, "PAID", LocalDateTime.of(999, 12, 31, 23, 59, 59, 1)),
+                new Order(4L, "ORD-4", "Deniz", 2.0, null, LocalDateTime.of(2026, 10, 19, 0, 49, 52, 236_080_000)),
+                new Order(null, null, null, null, null, null));
+
+        assertThat(handWritten.writeValueAsString(orders)).isEqualTo(reflective.writeValueAsString(orders));
+    }
+}
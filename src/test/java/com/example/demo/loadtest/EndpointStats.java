@@ -0,0 +1,74 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Tek bir senaryo (endpoint) için gecikme kayıtları.
+// responseTime: planlanan başlangıçtan cevaba kadar geçen süre (coordinated omission düzeltilmiş),
+// serviceTime: isteğin gerçekten gönderildiği andan cevaba kadar geçen süre.
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(1);
+
+    private final String name;
+    private final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE, 3);
+    private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE, 3);
+    private final Histogram totalResponseTime = new Histogram(HIGHEST_TRACKABLE, 3);
+    private final Histogram totalServiceTime = new Histogram(HIGHEST_TRACKABLE, 3);
+    private final LongAdder errors = new LongAdder();
+    private Histogram intervalResponseTime;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    // Açık model: gecikme planlanan başlangıçtan ölçüldüğü için düzeltme zaten içindedir
+    void record(long responseNanos, long serviceNanos, boolean ok) {
+        responseTime.recordValue(Math.min(responseNanos, HIGHEST_TRACKABLE));
+        serviceTime.recordValue(Math.min(serviceNanos, HIGHEST_TRACKABLE));
+        if (!ok) {
+            errors.increment();
+        }
+    }
+
+    // Kapalı model: kullanıcı beklerken gönderilemeyen istekler expectedInterval ile geriye dönük doldurulur
+    void recordClosed(long serviceNanos, long expectedIntervalNanos, boolean ok) {
+        long value = Math.min(serviceNanos, HIGHEST_TRACKABLE);
+        if (expectedIntervalNanos > 0) {
+            responseTime.recordValueWithExpectedInterval(value, expectedIntervalNanos);
+        } else {
+            responseTime.recordValue(value);
+        }
+        serviceTime.recordValue(value);
+        if (!ok) {
+            errors.increment();
+        }
+    }
+
+    // Ara rapor için son aralığın histogramını alır ve toplama ekler; tek thread'den çağrılır
+    Histogram sampleInterval() {
+        intervalResponseTime = responseTime.getIntervalHistogram(intervalResponseTime);
+        totalResponseTime.add(intervalResponseTime);
+        totalServiceTime.add(serviceTime.getIntervalHistogram());
+        return intervalResponseTime;
+    }
+
+    Histogram totalResponseTime() {
+        return totalResponseTime;
+    }
+
+    Histogram totalServiceTime() {
+        return totalServiceTime;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
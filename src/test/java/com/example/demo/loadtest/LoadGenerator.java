@@ -0,0 +1,309 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.DemoApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Uygulamaya login, ürün okuma ve sipariş yazma karışımı ile HTTP yükü uygular, gecikmeleri
+// HdrHistogram ile endpoint bazında raporlar. Ayarlar -Dloadtest.* system property'leri ile verilir:
+//
+//   loadtest.target          local (uygulamayı aynı JVM'de rastgele portta başlatır) veya http://host:port
+//   loadtest.model           open (sabit geliş hızı) | closed (sabit kullanıcı sayısı)
+//   loadtest.rate            open model: saniyedeki istek sayısı
+//   loadtest.users           closed model: eşzamanlı sanal kullanıcı sayısı
+//   loadtest.think-ms        closed model: kullanıcı başına istekler arası hedef aralık
+//   loadtest.mix             senaryo ağırlıkları, örn. login:20,product-read:60,order-write:20
+//   loadtest.duration / warmup   saniye; ısınma süresindeki ölçümler rapora girmez
+//
+// mvn -Ploadtest test-compile exec:java -Dloadtest.target=local -Dloadtest.rate=500 -Dloadtest.duration=30
+public class LoadGenerator {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final PrintStream OUT = System.out;
+
+    public static void main(String[] args) throws Exception {
+        String target = prop("target", "local");
+        String model = prop("model", "open");
+        int rate = Integer.parseInt(prop("rate", "200"));
+        int virtualUsers = Integer.parseInt(prop("users", "50"));
+        long thinkNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(prop("think-ms", "100")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(prop("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(prop("warmup", "5")));
+        Duration reportInterval = Duration.ofSeconds(Long.parseLong(prop("report-interval", "5")));
+        Map<Scenario, Integer> mix = parseMix(prop("mix", "login:20,product-read:60,order-write:20"));
+        int seedUsers = Integer.parseInt(prop("seed-users", "100"));
+        int seedProducts = Integer.parseInt(prop("seed-products", "200"));
+        Path output = Path.of(prop("output", "target/loadtest"));
+
+        ConfigurableApplicationContext app = null;
+        URI base;
+        if ("local".equals(target)) {
+            app = SpringApplication.run(DemoApplication.class, "--server.port=0", "--logging.level.root=WARN",
+                    "--demo.warmup.enabled=false");
+            base = URI.create("http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort());
+        } else {
+            base = URI.create(target);
+        }
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(threads)
+                    .build();
+
+            Scenario.Context ctx = setup(client, base, seedUsers, seedProducts);
+            OUT.printf("%nTarget %s, model=%s, mix=%s, warmup=%ds, duration=%ds%n",
+                    base, model, mix, warmup.toSeconds(), duration.toSeconds());
+
+            Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+            mix.keySet().forEach(s -> stats.put(s, new EndpointStats(s.key())));
+            Scenario[] table = weightedTable(mix);
+
+            if (!warmup.isZero()) {
+                OUT.println("Warming up...");
+                Map<Scenario, EndpointStats> discarded = new EnumMap<>(Scenario.class);
+                mix.keySet().forEach(s -> discarded.put(s, new EndpointStats(s.key())));
+                run(model, client, threads, ctx, table, discarded, rate, virtualUsers, thinkNanos, warmup, reportInterval, false);
+            }
+            long start = System.nanoTime();
+            run(model, client, threads, ctx, table, stats, rate, virtualUsers, thinkNanos, duration, reportInterval, true);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            report(stats.values(), seconds, "open".equals(model));
+            writeHistograms(stats.values(), output);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    // Login senaryosu için kullanıcıları, okuma senaryosu için ürünleri oluşturur
+    private static Scenario.Context setup(HttpClient client, URI base, int users, int products)
+            throws IOException, InterruptedException {
+        Scenario.Context ctx = new Scenario.Context(base, UUID.randomUUID().toString().substring(0, 8), users,
+                new ArrayList<>(), new AtomicLong(), Duration.ofSeconds(30));
+        for (int i = 0; i < users; i++) {
+            HttpResponse<String> resp = client.send(ctx.json("/auth/register", """
+                    {"username":"%s","password":"%s","fullName":"Load User %d"}"""
+                    .formatted(Scenario.username(i), Scenario.password(i), i)), HttpResponse.BodyHandlers.ofString());
+            if (resp.statusCode() != 201 && resp.statusCode() != 409) {
+                throw new IllegalStateException("User setup failed: HTTP " + resp.statusCode() + " " + resp.body());
+            }
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < products; i++) {
+            HttpResponse<String> resp = client.send(ctx.json("/products", String.format(Locale.ROOT, """
+                    {"name":"Load Product %d","category":"load","price":%.2f,"stock":%d}""",
+                    i, random.nextDouble(1, 1000), random.nextInt(1000))), HttpResponse.BodyHandlers.ofString());
+            Matcher m = ID.matcher(resp.body());
+            if (resp.statusCode() != 201 || !m.find()) {
+                throw new IllegalStateException("Product setup failed: HTTP " + resp.statusCode() + " " + resp.body());
+            }
+            ctx.productIds().add(Long.parseLong(m.group(1)));
+        }
+        return ctx;
+    }
+
+    private static void run(String model, HttpClient client, ExecutorService threads, Scenario.Context ctx,
+                            Scenario[] table, Map<Scenario, EndpointStats> stats, int rate, int virtualUsers,
+                            long thinkNanos, Duration duration, Duration reportInterval, boolean print)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Thread reporter = Thread.ofVirtual().start(() -> intervalReports(stats, deadline, reportInterval, print));
+        switch (model) {
+            case "open" -> runOpen(client, threads, ctx, table, stats, rate, deadline);
+            case "closed" -> runClosed(client, ctx, table, stats, virtualUsers, thinkNanos, deadline);
+            default -> throw new IllegalArgumentException("Unknown model: " + model);
+        }
+        reporter.join();
+        sampleInterval(stats, print);
+    }
+
+    // Açık model: istekler önceki cevapları beklemeden sabit aralıklarla planlanır. Gecikme planlanan
+    // başlangıçtan ölçülür; böylece sunucu veya üretici geride kaldığında kuyrukta geçen süre de görünür.
+    private static void runOpen(HttpClient client, ExecutorService threads, Scenario.Context ctx, Scenario[] table,
+                                Map<Scenario, EndpointStats> stats, int rate, long deadline)
+            throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        List<Thread> inFlight = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= deadline) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = table[random.nextInt(table.length)];
+            HttpRequest request = scenario.request(ctx, random);
+            EndpointStats endpoint = stats.get(scenario);
+            inFlight.add(Thread.ofVirtual().start(() -> {
+                long sent = System.nanoTime();
+                boolean ok = send(client, request);
+                long end = System.nanoTime();
+                endpoint.record(end - intended, end - sent, ok);
+            }));
+            if (inFlight.size() >= 10_000) {
+                inFlight.removeIf(t -> !t.isAlive());
+            }
+        }
+        for (Thread thread : inFlight) {
+            thread.join();
+        }
+    }
+
+    // Kapalı model: her sanal kullanıcı cevabı bekler, ardından think süresini tamamlayacak kadar uyur.
+    // think süresi hedef aralık kabul edilir; aşan cevaplar için kaçırılan istekler histograma eklenir.
+    private static void runClosed(HttpClient client, Scenario.Context ctx, Scenario[] table,
+                                  Map<Scenario, EndpointStats> stats, int virtualUsers, long thinkNanos,
+                                  long deadline) {
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < virtualUsers; u++) {
+                users.execute(() -> {
+                    SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+                    // Kullanıcılar aynı anda başlamasın
+                    LockSupport.parkNanos(random.nextLong(Math.max(1, thinkNanos)));
+                    while (System.nanoTime() < deadline) {
+                        Scenario scenario = table[random.nextInt(table.length)];
+                        long sent = System.nanoTime();
+                        boolean ok = send(client, scenario.request(ctx, random));
+                        long elapsed = System.nanoTime() - sent;
+                        stats.get(scenario).recordClosed(elapsed, thinkNanos, ok);
+                        if (elapsed < thinkNanos) {
+                            LockSupport.parkNanos(thinkNanos - elapsed);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private static boolean send(HttpClient client, HttpRequest request) {
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Aralık raporları; son aralık iş yükü bittikten sonra run() içinde alınır
+    private static void intervalReports(Map<Scenario, EndpointStats> stats, long deadline, Duration interval,
+                                        boolean print) {
+        for (long next = System.nanoTime() + interval.toNanos(); next < deadline; next += interval.toNanos()) {
+            long wait;
+            while ((wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            sampleInterval(stats, print);
+        }
+    }
+
+    private static void sampleInterval(Map<Scenario, EndpointStats> stats, boolean print) {
+        StringBuilder line = new StringBuilder("[interval]");
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram h = endpoint.sampleInterval();
+            line.append(String.format(Locale.ROOT, "  %s %,d req p99=%.1fms", endpoint.name(),
+                    h.getTotalCount(), h.getValueAtPercentile(99) / 1e6));
+        }
+        if (print) {
+            OUT.println(line);
+        }
+    }
+
+    private static void report(Iterable<EndpointStats> stats, double seconds, boolean open) {
+        OUT.printf("%n%-14s %10s %8s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats endpoint : stats) {
+            row(endpoint.name(), endpoint.totalResponseTime(), endpoint.errors(), seconds);
+        }
+        OUT.println(open
+                ? "\nLatency measured from intended send time (coordinated omission corrected). Service time:"
+                : "\nLatency corrected with expected interval = think time. Raw service time:");
+        for (EndpointStats endpoint : stats) {
+            row(endpoint.name(), endpoint.totalServiceTime(), endpoint.errors(), seconds);
+        }
+    }
+
+    private static void row(String name, Histogram h, long errors, double seconds) {
+        OUT.printf(Locale.ROOT, "%-14s %,10d %,8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, h.getTotalCount(), errors, h.getTotalCount() / seconds,
+                h.getValueAtPercentile(50) / 1e6, h.getValueAtPercentile(90) / 1e6,
+                h.getValueAtPercentile(99) / 1e6, h.getValueAtPercentile(99.9) / 1e6, h.getMaxValue() / 1e6);
+    }
+
+    // HistogramLogAnalyzer / hdrhistogram plotter ile açılabilen yüzdelik dağılım dosyaları
+    private static void writeHistograms(Iterable<EndpointStats> stats, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (EndpointStats endpoint : stats) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(endpoint.name() + ".hgrm")))) {
+                endpoint.totalResponseTime().outputPercentileDistribution(out, 1e6);
+            }
+        }
+        OUT.println("\nPercentile distributions written to " + dir.toAbsolutePath());
+    }
+
+    private static Map<Scenario, Integer> parseMix(String spec) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1;
+            if (weight > 0) {
+                mix.put(Scenario.of(kv[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must contain at least one scenario");
+        }
+        return mix;
+    }
+
+    private static Scenario[] weightedTable(Map<Scenario, Integer> mix) {
+        List<Scenario> table = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(scenario);
+            }
+        });
+        return table.toArray(Scenario[]::new);
+    }
+
+    private static String prop(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Yük testinde kullanılan istek tipleri. Her senaryo hazırlık aşamasında oluşturulan
+// kullanıcı ve ürünleri kullanır; sipariş numaraları çalıştırma boyunca benzersizdir.
+enum Scenario {
+
+    LOGIN("login") {
+        @Override
+        HttpRequest request(Context ctx, SplittableRandom random) {
+            int user = random.nextInt(ctx.users());
+            return ctx.json("/auth/login", """
+                    {"username":"%s","password":"%s"}""".formatted(username(user), password(user)));
+        }
+    },
+    PRODUCT_READ("product-read") {
+        @Override
+        HttpRequest request(Context ctx, SplittableRandom random) {
+            List<Long> ids = ctx.productIds();
+            return ctx.get("/products/" + ids.get(random.nextInt(ids.size())));
+        }
+    },
+    ORDER_WRITE("order-write") {
+        @Override
+        HttpRequest request(Context ctx, SplittableRandom random) {
+            return ctx.json("/orders", String.format(Locale.ROOT, """
+                    {"orderNumber":"LT-%s-%d","customerName":"customer-%03d","totalAmount":%.2f,"status":"CREATED"}""",
+                    ctx.runId(), ctx.orderSequence().incrementAndGet(), random.nextInt(1000),
+                            random.nextDouble(10, 5000)));
+        }
+    };
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract HttpRequest request(Context ctx, SplittableRandom random);
+
+    static Scenario of(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + key);
+    }
+
+    static String username(int i) {
+        return "load-user-" + i;
+    }
+
+    static String password(int i) {
+        return "secret-" + i;
+    }
+
+    record Context(URI base, String runId, int users, List<Long> productIds, AtomicLong orderSequence,
+                   Duration timeout) {
+
+        HttpRequest get(String path) {
+            return HttpRequest.newBuilder(base.resolve(path))
+                    .timeout(timeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+        }
+
+        HttpRequest json(String path, String body) {
+            return HttpRequest.newBuilder(base.resolve(path))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+}
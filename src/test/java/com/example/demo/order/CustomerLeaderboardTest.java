@@ -0,0 +1,92 @@
+package com.example.demo.order;
+
+import com.example.demo.entity.Order;
+import com.example.demo.event.OrderChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerLeaderboardTest {
+
+    private final CustomerLeaderboard board = new CustomerLeaderboard(new JdbcTemplate(), Set.of("CANCELED"));
+
+    @Test
+    void createUpdateAndDeleteMoveCustomerTotals() {
+        Order a1 = order(1L, "Ali", 100.0, "PAID");
+        Order b1 = order(2L, "Ayşe", 150.0, "PAID");
+        board.onOrderChanged(OrderChangedEvent.created(a1));
+        board.onOrderChanged(OrderChangedEvent.created(b1));
+        board.onOrderChanged(OrderChangedEvent.created(order(3L, "Ali", 70.5, "CREATED")));
+        assertThat(names(board.top(10))).containsExactly("Ali", "Ayşe");
+        assertThat(board.top(1).get(0)).containsEntry("totalAmount", new BigDecimal("170.50")).containsEntry("orders", 2L);
+
+        // Tutar düzeltmesi
+        board.onOrderChanged(OrderChangedEvent.updated(b1, order(2L, "Ayşe", 400.0, "PAID")));
+        assertThat(names(board.top(10))).containsExactly("Ayşe", "Ali");
+
+        // İptal edilen sipariş toplamdan düşer
+        board.onOrderChanged(OrderChangedEvent.updated(order(2L, "Ayşe", 400.0, "PAID"), order(2L, "Ayşe", 400.0, "CANCELED")));
+        assertThat(names(board.top(10))).containsExactly("Ali");
+
+        board.onOrderChanged(OrderChangedEvent.deleted(a1));
+        assertThat(board.top(10).get(0)).containsEntry("totalAmount", new BigDecimal("70.50")).containsEntry("orders", 1L);
+        assertThat(board.customers()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildDoesNotCountOrderCommittedBeforeItsQueryTwice() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:leaderboard-test;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table orders (id bigint primary key, customer_name varchar(255), total_amount double, status varchar(32))");
+        try {
+            CustomerLeaderboard leaderboard = new CustomerLeaderboard(jdbc, Set.of("CANCELED"));
+            TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            CountDownLatch beforeCommit = new CountDownLatch(1);
+            CountDownLatch commit = new CountDownLatch(1);
+
+            // Sipariş transaction'ı olayı yayınladı ama henüz commit olmadı
+            Thread writer = Thread.ofVirtual().start(() -> tx.executeWithoutResult(status -> {
+                jdbc.update("insert into orders values (1, 'Ali', 100.0, 'PAID')");
+                leaderboard.onOrderChanged(OrderChangedEvent.created(order(1L, "Ali", 100.0, "PAID")));
+                beforeCommit.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(beforeCommit.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread rebuild = Thread.ofVirtual().start(leaderboard::rebuild);
+            // Yeniden kurma, commit ve olayın uygulanması bitene kadar bekler
+            Thread.sleep(100);
+            assertThat(rebuild.isAlive()).isTrue();
+            commit.countDown();
+            writer.join(5000);
+            rebuild.join(5000);
+
+            assertThat(leaderboard.top(1).get(0)).containsEntry("totalAmount", new BigDecimal("100.00")).containsEntry("orders", 1L);
+        } finally {
+            jdbc.execute("drop all objects");
+        }
+    }
+
+    private static List<Object> names(List<Map<String, Object>> rows) {
+        return rows.stream().map(r -> r.get("customerName")).toList();
+    }
+
+    private static Order order(Long id, String customer, Double amount, String status) {
+        return new Order(id, "ORD-" + id, customer, amount, status, LocalDateTime.now());
+    }
+}
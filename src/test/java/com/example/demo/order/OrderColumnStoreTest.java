@@ -0,0 +1,31 @@
+package com.example.demo.order;
+
+import com.example.demo.entity.Order;
+import com.example.demo.event.OrderChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderColumnStoreTest {
+
+    @Test
+    void statusesBeyondDictionaryStillAggregateExactly() {
+        OrderColumnStore store = new OrderColumnStore(new JdbcTemplate());
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 200; id++) {
+            store.onOrderChanged(OrderChangedEvent.created(new Order(id, "ORD-" + id, "C", 10.0 * id, "S" + id, now)));
+        }
+        assertThat(store.aggregate(new OrderColumnStore.Query(null, null, null, 100, 1))).containsEntry("count", 200L);
+        assertThat(store.aggregate(new OrderColumnStore.Query("S5", null, null, 100, 1))).containsEntry("count", 1L);
+        assertThat(store.aggregate(new OrderColumnStore.Query("S150", null, null, 100, 1)))
+                .containsEntry("count", 1L).containsEntry("avg", 1500.0);
+        assertThat(store.aggregate(new OrderColumnStore.Query("S999", null, null, 100, 1))).containsEntry("count", 0L);
+
+        // Taşmış durumdaki sipariş silinince sorgudan düşer
+        store.onOrderChanged(OrderChangedEvent.deleted(new Order(150L, "ORD-150", "C", 1500.0, "S150", now)));
+        assertThat(store.aggregate(new OrderColumnStore.Query("S150", null, null, 100, 1))).containsEntry("count", 0L);
+    }
+}
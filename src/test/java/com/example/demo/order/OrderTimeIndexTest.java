@@ -0,0 +1,80 @@
+package com.example.demo.order;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.OrderLine;
+import com.example.demo.entity.Product;
+import com.example.demo.event.OrdersPurgedEvent;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Diğer testlerin verisine dokunmamak için siparişler 2001 yılına yazılır
+@SpringBootTest
+@RecordApplicationEvents
+class OrderTimeIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2001, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderTimeIndex index;
+
+    @Autowired
+    private OrderRepository orders;
+
+    @Autowired
+    private ProductRepository products;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void rangeQueryAndPartitionDrop() {
+        Product product = products.save(new Product(null, "TimeIndex-Kalem", "Test", 1.0, 100));
+        Order early = save("ORD-TI-1", T0.plusMinutes(10), product);
+        Order middle = save("ORD-TI-2", T0.plusHours(2).plusMinutes(5), product);
+        Order late = save("ORD-TI-3", T0.plusDays(2), product);
+        index.rebuild();
+
+        assertThat(index.idsBetween(T0, T0.plusDays(3), 10)).containsExactly(early.getId(), middle.getId(), late.getId());
+        // Kova ortasından başlayan aralık ve [from, to) sınırı
+        assertThat(index.idsBetween(T0.plusMinutes(11), T0.plusDays(2), 10)).containsExactly(middle.getId());
+        assertThat(index.idsBetween(T0, T0.plusDays(3), 2)).containsExactly(early.getId(), middle.getId());
+        // Ters ve boş aralıklar hata değil boş sonuç
+        assertThat(index.idsBetween(T0.plusDays(2), T0, 10)).isEmpty();
+        assertThat(index.idsBetween(T0.plusHours(2), T0.plusHours(2), 10)).isEmpty();
+
+        Map<String, Long> result = index.dropBefore(T0.plusDays(1));
+
+        assertThat(result).containsEntry("droppedBuckets", 2L).containsEntry("deletedOrders", 2L);
+        assertThat(orders.findById(early.getId())).isEmpty();
+        assertThat(orders.findById(middle.getId())).isEmpty();
+        assertThat(orders.findById(late.getId())).isPresent();
+        assertThat(jdbc.queryForObject("select count(*) from order_line where order_id in (?, ?)", Long.class,
+                early.getId(), middle.getId())).isZero();
+        assertThat(index.idsBetween(T0, T0.plusDays(3), 10)).containsExactly(late.getId());
+        assertThat(events.stream(OrdersPurgedEvent.class).toList())
+                .containsExactly(new OrdersPurgedEvent(T0.plusDays(1), 2));
+
+        orders.deleteById(late.getId());
+    }
+
+    private Order save(String number, LocalDateTime createdAt, Product product) {
+        Order order = new Order(null, number, "Zaman", 10.0, "CREATED", createdAt);
+        order.getLines().addAll(List.of(new OrderLine(null, order, product, 1, 1.0), new OrderLine(null, order, product, 2, 1.0)));
+        return orders.save(order);
+    }
+}
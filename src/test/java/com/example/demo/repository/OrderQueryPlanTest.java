@@ -0,0 +1,97 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Order;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Repository'nin ürettiği gerçek SQL yakalanır ve H2 EXPLAIN ile planın beklenen indeksi kullandığı doğrulanır.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.demo.repository.OrderQueryPlanTest$CapturingInspector")
+class OrderQueryPlanTest {
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static volatile String lastSql;
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains("from orders")) {
+                lastSql = sql;
+            }
+            return sql;
+        }
+    }
+
+    @Autowired
+    private OrderRepository repo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAll();
+        repo.save(new Order(null, "ORD-1", "Ali Yılmaz", 100.0, "PAID", LocalDateTime.now()));
+        repo.save(new Order(null, "ORD-2", "Ayşe Demir", 900.0, "CREATED", LocalDateTime.now()));
+    }
+
+    @Test
+    void lookupByOrderNumberUsesUniqueIndex() {
+        assertThat(repo.findByOrderNumber("ORD-1")).isPresent();
+        assertThat(planOf(() -> repo.findByOrderNumber("ORD-1"), "ORD-1")).contains("UK_ORDERS_ORDER_NUMBER");
+    }
+
+    @Test
+    void customerPrefixSearchUsesCustomerIndex() {
+        List<Order> found = search("Ali", null, null, null);
+        assertThat(found).extracting(Order::getOrderNumber).containsExactly("ORD-1");
+        assertThat(planOf(() -> search("Ali", null, null, null), "Ali%")).contains("IDX_ORDERS_CUSTOMER_NAME");
+    }
+
+    @Test
+    void statusAndAmountSearchUsesCompositeIndex() {
+        List<Order> found = search(null, "CREATED", 500.0, 1000.0);
+        assertThat(found).extracting(Order::getOrderNumber).containsExactly("ORD-2");
+        assertThat(planOf(() -> search(null, "CREATED", 500.0, 1000.0), "CREATED", 500.0, 1000.0))
+                .contains("IDX_ORDERS_STATUS_AMOUNT");
+    }
+
+    @Test
+    void amountRangeSearchUsesAmountIndex() {
+        assertThat(search(null, null, 50.0, 150.0)).hasSize(1);
+        assertThat(planOf(() -> search(null, null, 50.0, 150.0), 50.0, 150.0)).contains("IDX_ORDERS_TOTAL_AMOUNT");
+    }
+
+    @Test
+    void duplicateOrderNumberIsRejected() {
+        assertThatThrownBy(() -> repo.saveAndFlush(new Order(null, "ORD-1", "Başka", 1.0, "CREATED", LocalDateTime.now())))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private List<Order> search(String customer, String status, Double min, Double max) {
+        return repo.findBy(OrderSpecifications.search(customer, status, min, max, null),
+                q -> q.sortBy(Sort.by("id")).limit(50).all());
+    }
+
+    private String planOf(Supplier<?> query, Object... args) {
+        CapturingInspector.lastSql = null;
+        query.get();
+        String sql = CapturingInspector.lastSql;
+        assertThat(sql).isNotNull();
+        // Hibernate limit'i parametre olarak bağlar; EXPLAIN için sabitlenir
+        String explainable = sql.replaceAll("fetch first \\? rows only", "fetch first 50 rows only");
+        return String.join("\n", jdbc.queryForList("explain " + explainable, String.class, args));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.shard;
+
+import com.example.demo.entity.Order;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedOrderStoreTest {
+
+    private ShardedOrderStore store;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            JdbcDataSource ds = new JdbcDataSource();
+            ds.setURL("jdbc:h2:mem:shard_test_" + run + "_" + i + ";DB_CLOSE_DELAY=-1");
+            shards.add(ds);
+        }
+        store = new ShardedOrderStore(shards, ShardedOrderStore.ShardKey.ORDER_NUMBER);
+        for (int i = 0; i < 200; i++) {
+            store.create(new Order(null, "ORD-" + i, (i % 2 == 0 ? "Ali " : "Ayşe ") + i, (double) i,
+                    i % 3 == 0 ? "PAID" : "CREATED", LocalDateTime.now()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void ordersAreSpreadAcrossShardsAndFoundByIdAndNumber() {
+        assertThat(store.countsPerShard()).hasSize(4).allSatisfy(count -> assertThat(count).isGreaterThan(20L));
+        Order order = store.findByOrderNumber("ORD-42").orElseThrow();
+        assertThat(store.findById(order.getId())).get().extracting(Order::getCustomerName).isEqualTo("Ali 42");
+    }
+
+    @Test
+    void paginatedSearchMergesShardsInIdOrder() {
+        List<Long> seen = new ArrayList<>();
+        Long after = null;
+        List<Order> page;
+        while (!(page = store.search("Ali", null, null, null, after, 17)).isEmpty()) {
+            page.forEach(o -> seen.add(o.getId()));
+            after = page.get(page.size() - 1).getId();
+        }
+        assertThat(seen).hasSize(100).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void aggregatesAreMergedAcrossShards() {
+        Map<String, Map<String, Object>> byStatus = store.aggregateByStatus();
+        assertThat(byStatus.get("PAID")).containsEntry("count", 67L).containsEntry("min", 0.0).containsEntry("max", 198.0);
+        assertThat(byStatus.get("CREATED")).containsEntry("count", 133L);
+        assertThat((Double) byStatus.get("PAID").get("sum") + (Double) byStatus.get("CREATED").get("sum"))
+                .isEqualTo(199 * 200 / 2.0);
+    }
+
+    @Test
+    void shardKeyCannotChange() {
+        Order order = store.findByOrderNumber("ORD-1").orElseThrow();
+        Order changes = new Order(null, "ORD-1-NEW", order.getCustomerName(), 1.0, "PAID", null);
+        assertThatThrownBy(() -> store.update(order.getId(), changes))
+                .isInstanceOf(ShardedOrderStore.ShardKeyChangeException.class);
+    }
+}
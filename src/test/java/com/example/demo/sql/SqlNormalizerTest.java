@@ -0,0 +1,31 @@
+package com.example.demo.sql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlNormalizerTest {
+
+    @Test
+    void literalsAndWhitespaceAreNormalized() {
+        assertThat(SqlNormalizer.normalize("SELECT * FROM orders\n  WHERE status = 'PAID' AND total_amount > 100.5"))
+                .isEqualTo("select * from orders where status = ? and total_amount > ?");
+        assertThat(SqlNormalizer.normalize("select 1 from t where name = 'O''Brien'"))
+                .isEqualTo("select ? from t where name = ?");
+    }
+
+    @Test
+    void identifiersWithDigitsAreKept() {
+        assertThat(SqlNormalizer.normalize("select o1_0.id from orders o1_0 fetch first ? rows only"))
+                .isEqualTo("select o1_0.id from orders o1_0 fetch first ? rows only");
+    }
+
+    @Test
+    void inListsCollapseToOnePlaceholder() {
+        assertThat(SqlNormalizer.normalize("select * from orders where id in (?, ?, ?)"))
+                .isEqualTo(SqlNormalizer.normalize("select * from orders where id in (?,?)"))
+                .isEqualTo("select * from orders where id in (?)");
+        assertThat(SqlNormalizer.normalize("delete from orders where id in (1, 2, 3)"))
+                .isEqualTo("delete from orders where id in (?)");
+    }
+}
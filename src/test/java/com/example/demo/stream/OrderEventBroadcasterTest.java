@@ -0,0 +1,170 @@
+package com.example.demo.stream;
+
+import com.example.demo.entity.Order;
+import com.example.demo.event.OrderChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderEventBroadcasterTest {
+
+    @Test
+    void resumeReplaysMissedEventsEvenWhenMoreThanBufferSize() throws Exception {
+        OrderEventBroadcaster broadcaster = new OrderEventBroadcaster(2, 8, 60_000);
+        RecordingEmitter live = new RecordingEmitter();
+        broadcaster.subscribe(null, live);
+        List<Received> seen = publish(broadcaster, live, 6);
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        broadcaster.subscribe(seen.get(0).id(), resumed);
+
+        List<Received> replayed = resumed.take(5);
+        assertThat(replayed).extracting(Received::id)
+                .containsExactlyElementsOf(seen.subList(1, 6).stream().map(Received::id).toList());
+        assertThat(replayed).extracting(Received::name).containsOnly("order-created");
+        assertThat(resumed.completed).isFalse();
+    }
+
+    @Test
+    void gapAndIdFromAnotherProcessSendResetWithoutId() throws Exception {
+        OrderEventBroadcaster broadcaster = new OrderEventBroadcaster(16, 4, 60_000);
+        RecordingEmitter live = new RecordingEmitter();
+        broadcaster.subscribe(null, live);
+        List<Received> seen = publish(broadcaster, live, 6);
+        List<String> lastFour = seen.subList(2, 6).stream().map(Received::id).toList();
+
+        // 2..3 halkadan düştü
+        RecordingEmitter gap = new RecordingEmitter();
+        broadcaster.subscribe(seen.get(0).id(), gap);
+        List<Received> afterGap = gap.take(5);
+        assertThat(afterGap.get(0)).isEqualTo(new Received(null, "reset"));
+        assertThat(afterGap.subList(1, 5)).extracting(Received::id).containsExactlyElementsOf(lastFour);
+
+        // Önceki süreçten kalan, sıra numarası bu süreçte hâlâ geçerli görünen ID
+        String epoch = seen.get(0).id().substring(0, seen.get(0).id().indexOf('-'));
+        for (String foreign : List.of((Long.parseLong(epoch) - 1) + "-3", "3")) {
+            RecordingEmitter restarted = new RecordingEmitter();
+            broadcaster.subscribe(foreign, restarted);
+            List<Received> events = restarted.take(5);
+            assertThat(events.get(0)).isEqualTo(new Received(null, "reset"));
+            assertThat(events.subList(1, 5)).extracting(Received::id).containsExactlyElementsOf(lastFour);
+        }
+    }
+
+    @Test
+    void slowConsumerIsClosedWhenBufferOverflows() throws Exception {
+        OrderEventBroadcaster broadcaster = new OrderEventBroadcaster(2, 8, 60_000);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.gate = new CountDownLatch(1);
+        broadcaster.subscribe(null, slow);
+
+        broadcaster.onOrderChanged(OrderChangedEvent.created(order(1L)));
+        // İlk olay gönderimde takılı; sonraki ikisi tamponu doldurur, dördüncüsü taşırır
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 2; id <= 4; id++) {
+            broadcaster.onOrderChanged(OrderChangedEvent.created(order(id)));
+        }
+
+        assertThat(slow.completed).isTrue();
+        assertThat(broadcaster.subscriberCount()).isZero();
+        slow.gate.countDown();
+    }
+
+    @Test
+    void timeoutCompletesEmitter() {
+        OrderEventBroadcaster broadcaster = new OrderEventBroadcaster(2, 8, 60_000);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(null, emitter);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+
+        emitter.timeoutCallback.run();
+
+        assertThat(emitter.completed).isTrue();
+        assertThat(broadcaster.subscriberCount()).isZero();
+    }
+
+    private static List<Received> publish(OrderEventBroadcaster broadcaster, RecordingEmitter emitter, int count)
+            throws InterruptedException {
+        List<Received> seen = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            broadcaster.onOrderChanged(OrderChangedEvent.created(order(id)));
+            seen.addAll(emitter.take(1));
+        }
+        return seen;
+    }
+
+    private static Order order(Long id) {
+        return new Order(id, "ORD-" + id, "Ali", 10.0, "CREATED", LocalDateTime.now());
+    }
+
+    record Received(String id, String name) {
+    }
+
+    // Servlet olmadan gönderilen olayları kaydeder; gate verilirse gönderim serbest bırakılana kadar bekler
+    static final class RecordingEmitter extends SseEmitter {
+
+        final BlockingQueue<Received> events = new LinkedBlockingQueue<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        volatile CountDownLatch gate;
+        volatile boolean completed;
+        Runnable timeoutCallback;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String id = null;
+            String name = null;
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    for (String line : text.split("\n")) {
+                        if (line.startsWith("id:")) {
+                            id = line.substring(3);
+                        } else if (line.startsWith("event:")) {
+                            name = line.substring(6);
+                        }
+                    }
+                }
+            }
+            events.add(new Received(id, name));
+        }
+
+        @Override
+        public synchronized void onTimeout(Runnable callback) {
+            timeoutCallback = callback;
+            super.onTimeout(callback);
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        List<Received> take(int count) throws InterruptedException {
+            List<Received> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Received event = events.poll(5, TimeUnit.SECONDS);
+                assertThat(event).as("event %d of %d", i + 1, count).isNotNull();
+                taken.add(event);
+            }
+            return taken;
+        }
+    }
+}
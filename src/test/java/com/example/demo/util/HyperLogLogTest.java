@@ -0,0 +1,42 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimateStaysWithinDocumentedError() {
+        HyperLogLog hll = new HyperLogLog(14);
+        for (int i = 0; i < 200_000; i++) {
+            hll.add("customer-" + i);
+            hll.add("customer-" + i);
+        }
+        // 4 standart hata içinde
+        assertThat((double) hll.estimate()).isCloseTo(200_000, within(200_000 * hll.relativeStandardError() * 4));
+    }
+
+    @Test
+    void smallCardinalitiesAreNearlyExact() {
+        HyperLogLog hll = new HyperLogLog(14);
+        for (int i = 0; i < 100; i++) {
+            hll.add("c" + i);
+        }
+        assertThat(hll.estimate()).isBetween(99L, 101L);
+    }
+
+    @Test
+    void mergeEqualsUnion() {
+        HyperLogLog a = new HyperLogLog(12);
+        HyperLogLog b = new HyperLogLog(12);
+        HyperLogLog all = new HyperLogLog(12);
+        for (int i = 0; i < 50_000; i++) {
+            (i % 2 == 0 ? a : b).add("x" + i);
+            all.add("x" + i);
+        }
+        a.merge(b);
+        assertThat(a.estimate()).isEqualTo(all.estimate());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KllSketchTest {
+
+    @Test
+    void quantilesStayWithinRankError() {
+        KllSketch sketch = new KllSketch(200);
+        List<Double> values = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            double v = Math.exp(random.nextGaussian() * 2);
+            values.add(v);
+            sketch.update(v);
+        }
+        Collections.sort(values);
+        for (double q : new double[]{0.5, 0.95, 0.99}) {
+            double rank = rankOf(values, sketch.quantile(q));
+            assertThat(rank).isBetween(q - 0.03, q + 0.03);
+        }
+        assertThat(sketch.quantile(0)).isEqualTo(values.get(0));
+        assertThat(sketch.quantile(1)).isEqualTo(values.get(values.size() - 1));
+        assertThat(sketch.retainedItems()).isLessThan(1_000);
+    }
+
+    @Test
+    void mergedSketchMatchesCombinedStream() {
+        KllSketch a = new KllSketch(200);
+        KllSketch b = new KllSketch(200);
+        for (int i = 0; i < 50_000; i++) {
+            a.update(i);
+            b.update(50_000 + i);
+        }
+        a.merge(b);
+        assertThat(a.count()).isEqualTo(100_000);
+        assertThat(a.quantile(0.5)).isBetween(47_000.0, 53_000.0);
+        assertThat(a.quantile(0.95)).isBetween(92_000.0, 98_000.0);
+    }
+
+    private static double rankOf(List<Double> sorted, double value) {
+        int index = Collections.binarySearch(sorted, value);
+        return (index >= 0 ? index : -index - 1) / (double) sorted.size();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoaringBitmapTest {
+
+    @Test
+    void setOperationsMatchTreeSet() {
+        Random random = new Random(42);
+        // Seyrek (array) ve yoğun (bitmap) kovaların karışımı
+        TreeSet<Integer> a = new TreeSet<>();
+        TreeSet<Integer> b = new TreeSet<>();
+        RoaringBitmap ra = new RoaringBitmap();
+        RoaringBitmap rb = new RoaringBitmap();
+        for (int i = 0; i < 60_000; i++) {
+            int va = random.nextInt(2) == 0 ? random.nextInt(10_000) : random.nextInt(5_000_000);
+            int vb = random.nextInt(2) == 0 ? random.nextInt(10_000) : random.nextInt(5_000_000);
+            a.add(va);
+            ra.add(va);
+            b.add(vb);
+            rb.add(vb);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            int v = random.nextInt(10_000);
+            a.remove(v);
+            ra.remove(v);
+        }
+
+        TreeSet<Integer> and = new TreeSet<>(a);
+        and.retainAll(b);
+        TreeSet<Integer> andNot = new TreeSet<>(a);
+        andNot.removeAll(b);
+        TreeSet<Integer> or = new TreeSet<>(a);
+        or.addAll(b);
+
+        assertThat(ra.toArray()).containsExactly(toArray(a));
+        assertThat(ra.and(rb).toArray()).containsExactly(toArray(and));
+        assertThat(ra.andNot(rb).toArray()).containsExactly(toArray(andNot));
+        assertThat(ra.or(rb).toArray()).containsExactly(toArray(or));
+        assertThat(ra.or(rb).cardinality()).isEqualTo(or.size());
+    }
+
+    @Test
+    void sliceReturnsPageInAscendingOrder() {
+        RoaringBitmap bitmap = RoaringBitmap.of(5, 1, 70_000, 3, 200_000);
+
+        assertThat(bitmap.slice(0, 2)).containsExactly(1, 3);
+        assertThat(bitmap.slice(2, 10)).containsExactly(5, 70_000, 200_000);
+        assertThat(bitmap.slice(10, 10)).isEmpty();
+        assertThat(bitmap.slice(-3, 2)).containsExactly(1, 3);
+    }
+
+    private static int[] toArray(TreeSet<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
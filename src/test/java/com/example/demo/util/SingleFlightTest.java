@@ -0,0 +1,97 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>(5000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                results.add(callers.submit(() -> flight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "value";
+                })));
+            }
+            while ((long) flight.stats().get("coalesced") < 49) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("value");
+            }
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(flight.stats()).containsEntry("executions", 1L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void waitersReceiveLeaderError() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>(5000);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = callers.submit(() -> flight.execute(1L, () -> {
+                await(release);
+                throw new IllegalArgumentException("boom");
+            }));
+            while ((int) flight.stats().get("inFlight") == 0) {
+                Thread.onSpinWait();
+            }
+            Future<String> waiter = callers.submit(() -> flight.execute(1L, () -> "unused"));
+            while ((long) flight.stats().get("coalesced") == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThatThrownBy(leader::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(waiter::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+        // Hata saklanmaz; sonraki çağrı yeniden yükler
+        assertThat(flight.execute(1L, () -> "retry")).isEqualTo("retry");
+    }
+
+    @Test
+    void waiterTimesOutAtFlightDeadline() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>(50);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = callers.submit(() -> flight.execute(1L, () -> {
+                await(release);
+                return "slow";
+            }));
+            while ((int) flight.stats().get("inFlight") == 0) {
+                Thread.onSpinWait();
+            }
+            assertThatThrownBy(() -> flight.execute(1L, () -> "unused")).isInstanceOf(SingleFlight.TimeoutException.class);
+            release.countDown();
+            assertThat(leader.get()).isEqualTo("slow");
+        }
+        assertThat(flight.stats()).containsEntry("timeouts", 1L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}